@@ -0,0 +1,73 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import streams.BitPartition;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Partitioning 100M Integers by parity: partitioningBy into two lists vs a bitmap over
+// the source. Run with -prof gc to compare allocation per operation.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms8G", "-Xmx8G"})
+public class BitPartitionBenchmark {
+    private static final int ELEMENTS = 100_000_000;
+
+    private List<Integer> values;
+    private BitPartition<Integer> even;
+
+    @Setup
+    public void setUp() {
+        Integer[] data = new Integer[ELEMENTS];
+        for (int i = 0; i < ELEMENTS; i++) {
+            data[i] = i;
+        }
+        values = Arrays.asList(data);
+        even = BitPartition.of(values, n -> (n & 1) == 0);
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Integer>> partitioningBy() {
+        return values.parallelStream()
+                .collect(Collectors.partitioningBy(n -> (n & 1) == 0));
+    }
+
+    @Benchmark
+    public Map<Boolean, Long> partitioningByCounting() {
+        return values.parallelStream()
+                .collect(Collectors.partitioningBy(n -> (n & 1) == 0, Collectors.counting()));
+    }
+
+    @Benchmark
+    public int bitPartitionCount() {
+        return BitPartition.of(values, n -> (n & 1) == 0).count();
+    }
+
+    @Benchmark
+    public BitPartition<Integer> bitPartitionCollector() {
+        return values.parallelStream()
+                .collect(BitPartition.partitioningBy(n -> (n & 1) == 0));
+    }
+
+    @Benchmark
+    public int chainedAnd() {
+        return even.and(n -> n % 3 == 0).count();
+    }
+
+    @Benchmark
+    public long sumFalseView() {
+        long sum = 0;
+        for (Integer n : even.falseView()) {
+            sum += n;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,74 @@
+package benchmarks;
+
+import optionals.ConcurrentOptionalMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Read-heavy config lookups: 99% get, 1% put over 1,000 keys.
+// Compare scaling by running with -t 1, -t 2, ... -t 32 (JMH thread count).
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 2, jvmArgs = {"-Xms2G", "-Xmx2G"})
+public class ConcurrentOptionalMapBenchmark {
+    private static final int KEYS = 1_000;
+
+    private final String[] keys = new String[KEYS];
+    private final ConcurrentOptionalMap<String, String> copyOnWrite = new ConcurrentOptionalMap<>();
+    private final Map<String, String> concurrentHashMap = new ConcurrentHashMap<>();
+    private final Map<String, String> synchronizedMap = Collections.synchronizedMap(new HashMap<>());
+
+    @Setup
+    public void setUp() {
+        Map<String, String> config = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "config.key." + i;
+            config.put(keys[i], "value" + i);
+        }
+        copyOnWrite.putAll(config);
+        concurrentHashMap.putAll(config);
+        synchronizedMap.putAll(config);
+    }
+
+    @Benchmark
+    public String copyOnWrite() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String key = keys[random.nextInt(KEYS)];
+        if (random.nextInt(100) == 0) {
+            copyOnWrite.put(key, "updated");
+            return key;
+        }
+        return copyOnWrite.getOrDefault(key, "");
+    }
+
+    @Benchmark
+    public String concurrentHashMap() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String key = keys[random.nextInt(KEYS)];
+        if (random.nextInt(100) == 0) {
+            concurrentHashMap.put(key, "updated");
+            return key;
+        }
+        return concurrentHashMap.getOrDefault(key, "");
+    }
+
+    @Benchmark
+    public String synchronizedMap() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String key = keys[random.nextInt(KEYS)];
+        if (random.nextInt(100) == 0) {
+            synchronizedMap.put(key, "updated");
+            return key;
+        }
+        return synchronizedMap.getOrDefault(key, "");
+    }
+}
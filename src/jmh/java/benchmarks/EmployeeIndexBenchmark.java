@@ -0,0 +1,65 @@
+package benchmarks;
+
+import optionals.Employee;
+import optionals.HR;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Indexed name-prefix and id-range queries vs a full scan with a stream filter.
+// Names are "Employee <n>", so a prefix of "Employee 1234" matches roughly 10^k ids.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms12G", "-Xmx12G"})
+public class EmployeeIndexBenchmark {
+    @Param({"100000", "10000000"})
+    private int employees;
+
+    private final HR hr = HR.getInstance();
+    private int firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        hr.reset();
+        Employee.setNextId(0);
+        List<Employee> batch = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            batch.add(new Employee("Employee " + i));
+        }
+        hr.hire(batch);
+        firstId = batch.get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        hr.reset();
+    }
+
+    @Benchmark
+    public List<Employee> namePrefixIndexed() {
+        return hr.findEmployeesByNamePrefix("Employee 1234");
+    }
+
+    @Benchmark
+    public List<Employee> namePrefixScan() {
+        return hr.findEmployees(e -> e.getName().startsWith("Employee 1234"));
+    }
+
+    @Benchmark
+    public List<Employee> idRangeIndexed() {
+        return hr.findEmployeesByIdRange(firstId + 5_000, firstId + 6_000);
+    }
+
+    @Benchmark
+    public List<Employee> idRangeScan() {
+        int from = firstId + 5_000;
+        int to = firstId + 6_000;
+        return hr.findEmployees(e -> e.getId() >= from && e.getId() < to);
+    }
+}
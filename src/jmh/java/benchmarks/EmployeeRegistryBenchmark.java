@@ -0,0 +1,109 @@
+package benchmarks;
+
+import optionals.Employee;
+import optionals.StripedIntMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 1M employees, 8 threads per group, mixed read/write ratios.
+// StripedIntMap (what HR now uses) vs the previous ConcurrentHashMap<Integer, Employee>.
+// Writes re-hire an existing id so the map size stays constant.
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Group)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class EmployeeRegistryBenchmark {
+    private static final int EMPLOYEES = 1_000_000;
+
+    private StripedIntMap<Employee> striped;
+    private Map<Integer, Employee> chm;
+    private Employee[] employees;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Employee.setNextId(0);
+        employees = new Employee[EMPLOYEES];
+        striped = new StripedIntMap<>(EMPLOYEES);
+        chm = new ConcurrentHashMap<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees[i] = new Employee("Employee " + i);
+            striped.put(employees[i].getId(), employees[i]);
+            chm.put(employees[i].getId(), employees[i]);
+        }
+    }
+
+    private Employee randomEmployee() {
+        return employees[ThreadLocalRandom.current().nextInt(EMPLOYEES)];
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(EMPLOYEES);
+    }
+
+    // 100% reads
+
+    @Benchmark @Group("stripedReadOnly") @GroupThreads(8)
+    public Employee stripedReadOnly() {
+        return striped.get(randomId());
+    }
+
+    @Benchmark @Group("chmReadOnly") @GroupThreads(8)
+    public Employee chmReadOnly() {
+        return chm.get(randomId());
+    }
+
+    // 7 readers : 1 writer
+
+    @Benchmark @Group("stripedReadHeavy") @GroupThreads(7)
+    public Employee stripedReadHeavyGet() {
+        return striped.get(randomId());
+    }
+
+    @Benchmark @Group("stripedReadHeavy") @GroupThreads(1)
+    public Employee stripedReadHeavyPut() {
+        Employee e = randomEmployee();
+        return striped.put(e.getId(), e);
+    }
+
+    @Benchmark @Group("chmReadHeavy") @GroupThreads(7)
+    public Employee chmReadHeavyGet() {
+        return chm.get(randomId());
+    }
+
+    @Benchmark @Group("chmReadHeavy") @GroupThreads(1)
+    public Employee chmReadHeavyPut() {
+        Employee e = randomEmployee();
+        return chm.put(e.getId(), e);
+    }
+
+    // 4 readers : 4 writers
+
+    @Benchmark @Group("stripedBalanced") @GroupThreads(4)
+    public Employee stripedBalancedGet() {
+        return striped.get(randomId());
+    }
+
+    @Benchmark @Group("stripedBalanced") @GroupThreads(4)
+    public Employee stripedBalancedPut() {
+        Employee e = randomEmployee();
+        return striped.put(e.getId(), e);
+    }
+
+    @Benchmark @Group("chmBalanced") @GroupThreads(4)
+    public Employee chmBalancedGet() {
+        return chm.get(randomId());
+    }
+
+    @Benchmark @Group("chmBalanced") @GroupThreads(4)
+    public Employee chmBalancedPut() {
+        Employee e = randomEmployee();
+        return chm.put(e.getId(), e);
+    }
+}
@@ -0,0 +1,74 @@
+package benchmarks;
+
+import fileio.ExternalSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Sorting a generated word file with a 256 MB heap and a 64 MB sort budget.
+// The 5000 MB case is the "multi-GB word list" target; sorted() on Files.lines
+// runs out of heap long before that, so only the external sort is measured.
+// Needs about twice the file size in free temp space.
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx256m"})
+public class ExternalSortBenchmark {
+    private static final long MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    @Param({"100", "1000", "5000"})
+    private int megabytes;
+
+    private Path words;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        words = Files.createTempFile("words-" + megabytes + "mb-", ".txt");
+        SplittableRandom random = new SplittableRandom(42);
+        long target = megabytes * 1024L * 1024;
+        long written = 0;
+        char[] word = new char[24];
+        try (BufferedWriter writer = Files.newBufferedWriter(words)) {
+            while (written < target) {
+                int length = 3 + random.nextInt(word.length - 3);
+                for (int i = 0; i < length; i++) {
+                    word[i] = (char) ('a' + random.nextInt(26));
+                }
+                writer.write(word, 0, length);
+                writer.newLine();
+                written += length + 1;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(words);
+    }
+
+    @Benchmark
+    public long externalSortCount() throws IOException {
+        try (Stream<String> sorted = ExternalSort.sorted(Files.lines(words),
+                Comparator.naturalOrder(), MEMORY_BUDGET)) {
+            return sorted.count();
+        }
+    }
+
+    @Benchmark
+    public String externalSortTenLongest() throws IOException {
+        try (Stream<String> sorted = ExternalSort.sorted(Files.lines(words),
+                Comparator.comparingInt(String::length).reversed(), MEMORY_BUDGET)) {
+            return sorted.limit(10).reduce("", (a, b) -> b);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import streams.Employee;
+import streams.GroupedAggregation;
+import streams.IntGroupStats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Max salary per department, 10M employees across 1k departments:
+// groupingBy(maxBy(comparingInt)) vs the one-pass GroupedAggregation collector.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms8G", "-Xmx8G"})
+public class GroupedAggregationBenchmark {
+    private static final int EMPLOYEES = 10_000_000;
+    private static final int DEPARTMENTS = 1_000;
+
+    private List<Employee> employees;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] departments = new String[DEPARTMENTS];
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            departments[i] = "Department " + i;
+        }
+        employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee("Employee " + i, random.nextInt(1_000_000),
+                    departments[random.nextInt(DEPARTMENTS)]));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Optional<Employee>> groupingByMaxBy() {
+        return employees.stream()
+                .collect(Collectors.groupingBy(Employee::getDepartment,
+                        Collectors.maxBy(Comparator.comparingInt(Employee::getSalary))));
+    }
+
+    @Benchmark
+    public Map<String, Optional<Employee>> groupingByMaxByParallel() {
+        return employees.parallelStream()
+                .collect(Collectors.groupingBy(Employee::getDepartment,
+                        Collectors.maxBy(Comparator.comparingInt(Employee::getSalary))));
+    }
+
+    @Benchmark
+    public Map<String, IntGroupStats<Employee>> groupedAggregation() {
+        return employees.stream()
+                .collect(GroupedAggregation.summarizingIntBy(Employee::getDepartment,
+                        Employee::getSalary, DEPARTMENTS));
+    }
+
+    @Benchmark
+    public Map<String, IntGroupStats<Employee>> groupedAggregationParallel() {
+        return employees.parallelStream()
+                .collect(GroupedAggregation.summarizingIntBy(Employee::getDepartment,
+                        Employee::getSalary, DEPARTMENTS));
+    }
+}
@@ -0,0 +1,45 @@
+package benchmarks;
+
+import optionals.Employee;
+import optionals.IdAllocator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 64 threads allocating ids: one shared AtomicInteger (every call hits the same
+// cache line) vs IdAllocator's per-thread blocks. Also full Employee construction.
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(64)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class IdAllocationBenchmark {
+    private final AtomicInteger atomic = new AtomicInteger();
+    private final IdAllocator allocator = new IdAllocator();
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        atomic.set(0);
+        allocator.reset(0);
+        Employee.setNextId(0);
+    }
+
+    @Benchmark
+    public int atomicIntegerBaseline() {
+        return atomic.getAndIncrement();
+    }
+
+    @Benchmark
+    public int idAllocator() {
+        return allocator.nextId();
+    }
+
+    @Benchmark
+    public Employee constructEmployee() {
+        return new Employee("Employee");
+    }
+}
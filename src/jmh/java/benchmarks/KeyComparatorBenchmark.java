@@ -0,0 +1,72 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sorting.Golfer;
+import sorting.KeyComparator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Sorting 10M Golfers by score, then last, then first: a thenComparing chain built per
+// call vs a KeyComparator built once, used as a comparator and through its column sort.
+// The setup also sorts with unrelated chains first, so the shared Comparator call
+// sites are megamorphic, as they would be in a real application.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms8G", "-Xmx8G"})
+public class KeyComparatorBenchmark {
+    private static final int GOLFERS = 10_000_000;
+    private static final KeyComparator<Golfer> FLAT =
+            KeyComparator.comparingInt(Golfer::getScore)
+                    .thenComparing(Golfer::getLast)
+                    .thenComparing(Golfer::getFirst)
+                    .build();
+
+    private Golfer[] golfers;
+    private Golfer[] work;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        golfers = new Golfer[GOLFERS];
+        for (int i = 0; i < GOLFERS; i++) {
+            golfers[i] = new Golfer("First" + random.nextInt(1_000), "Last" + random.nextInt(10_000),
+                    60 + random.nextInt(30));
+        }
+        Golfer[] sample = Arrays.copyOf(golfers, 100_000);
+        Arrays.sort(sample.clone(), Comparator.comparing(Golfer::getFirst).thenComparingInt(Golfer::getScore));
+        Arrays.sort(sample.clone(), Comparator.comparing(Golfer::getLast).thenComparing(Golfer::toString));
+        Arrays.sort(sample.clone(), Comparator.comparingInt(Golfer::hashCode).thenComparing(Golfer::getFirst));
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        work = golfers.clone();
+    }
+
+    @Benchmark
+    public Golfer[] chainedComparator() {
+        Arrays.sort(work, Comparator.comparingInt(Golfer::getScore)
+                .thenComparing(Golfer::getLast)
+                .thenComparing(Golfer::getFirst));
+        return work;
+    }
+
+    @Benchmark
+    public Golfer[] flatComparator() {
+        Arrays.sort(work, FLAT);
+        return work;
+    }
+
+    @Benchmark
+    public Golfer[] flatColumnSort() {
+        FLAT.sort(work);
+        return work;
+    }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sorting.Golfer;
+import sorting.KeySort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Sorting Golfers by int score, 1M to 100M: TimSort with comparingInt vs KeySort.
+// "narrow" scores (60..89) take the counting-sort path, "wide" (any int) the radix path.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms16G", "-Xmx16G"})
+public class KeySortBenchmark {
+    private static final Comparator<Golfer> BY_SCORE = Comparator.comparingInt(Golfer::getScore);
+
+    @Param({"1000000", "10000000", "100000000"})
+    private int size;
+
+    @Param({"narrow", "wide"})
+    private String scores;
+
+    private Golfer[] golfers;
+    private Golfer[] work;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        golfers = new Golfer[size];
+        for (int i = 0; i < size; i++) {
+            int score = scores.equals("narrow") ? 60 + random.nextInt(30) : random.nextInt();
+            golfers[i] = new Golfer("First", "Last", score);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        work = golfers.clone();
+    }
+
+    @Benchmark
+    public Golfer[] timSort() {
+        Arrays.sort(work, BY_SCORE);
+        return work;
+    }
+
+    @Benchmark
+    public Golfer[] parallelSort() {
+        Arrays.parallelSort(work, BY_SCORE);
+        return work;
+    }
+
+    @Benchmark
+    public Golfer[] keySort() {
+        KeySort.sortByInt(work, Golfer::getScore);
+        return work;
+    }
+
+    @Benchmark
+    public Golfer[] parallelKeySort() {
+        KeySort.parallelSortByInt(work, Golfer::getScore);
+        return work;
+    }
+}
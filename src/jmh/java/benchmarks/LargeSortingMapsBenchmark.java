@@ -0,0 +1,63 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sorting.SortingMaps;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Sorting a 10M / 50M entry map by value: stream sort into a LinkedHashMap vs the
+// large-map mode's parallel sort into an array-backed view. Each invocation starts
+// from an invalidated snapshot. Run with -prof gc for allocation per operation.
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms24G", "-Xmx24G"})
+public class LargeSortingMapsBenchmark {
+    @Param({"10000000", "50000000"})
+    private int entries;
+
+    private Map<Integer, Integer> map;
+    private SortingMaps<Integer, Integer> large;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        map = new HashMap<>(entries * 4 / 3 + 1);
+        for (int i = 0; i < entries; i++) {
+            map.put(i, random.nextInt());
+        }
+        large = SortingMaps.forLargeMaps();
+        large.setMap(map);
+    }
+
+    @Setup(Level.Invocation)
+    public void invalidate() {
+        large.put(0, map.get(0));
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> streamSortIntoLinkedHashMap() {
+        return map.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+                        (e1, e2) -> e1, LinkedHashMap::new));
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> largeMapModeByValue() {
+        return large.getMapSortedByValue();
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> largeMapModeByKeyDesc() {
+        return large.getMapSortedByKeyDesc();
+    }
+}
@@ -0,0 +1,97 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sorting.Golfer;
+import sorting.Leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+// 1M players while a background thread applies 10k score updates per second.
+// Rank and top-10 reads from the Leaderboard vs scanning / re-sorting a List<Golfer>
+// (the SortGolfers approach). Run with -t 1..8 to see reads scale during updates.
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class LeaderboardBenchmark {
+    private static final int PLAYERS = 1_000_000;
+    private static final int UPDATES_PER_SECOND = 10_000;
+
+    private Leaderboard board;
+    private List<Golfer> golfers;
+    private Thread updater;
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        board = new Leaderboard(50, 120, PLAYERS);
+        golfers = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            Golfer golfer = new Golfer("First" + (i % 5_000), "Last" + (i % 20_000), 60 + random.nextInt(30));
+            golfers.add(golfer);
+            board.add(golfer);
+        }
+        running = true;
+        updater = new Thread(() -> {
+            SplittableRandom r = new SplittableRandom(7);
+            long interval = TimeUnit.SECONDS.toNanos(1) / UPDATES_PER_SECOND;
+            long next = System.nanoTime();
+            while (running) {
+                board.updateScore(r.nextInt(PLAYERS), 60 + r.nextInt(30));
+                next += interval;
+                LockSupport.parkNanos(next - System.nanoTime());
+            }
+        }, "leaderboard-updater");
+        updater.setDaemon(true);
+        updater.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        running = false;
+        updater.join();
+    }
+
+    @Benchmark
+    public int rank() {
+        return board.rank(ThreadLocalRandom.current().nextInt(PLAYERS));
+    }
+
+    @Benchmark
+    public int[] top10() {
+        return board.topPlayers(10);
+    }
+
+    @Benchmark
+    public void updateScore() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        board.updateScore(random.nextInt(PLAYERS), 60 + random.nextInt(30));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long rankByScan() {
+        int score = golfers.get(ThreadLocalRandom.current().nextInt(PLAYERS)).getScore();
+        return golfers.stream().filter(g -> g.getScore() < score).count() + 1;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<Golfer> top10BySorting() {
+        return golfers.stream()
+                .sorted(Comparator.comparingInt(Golfer::getScore))
+                .limit(10)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import manipulatecollection.ListCompaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Removing 1%, 50% or 99% of a 100M-element ArrayList: sequential ArrayList.removeIf
+// vs ListCompaction's parallel mark-and-scatter, plus retainIf and partitionInPlace.
+// Each invocation gets a fresh copy of the list.
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = {"-Xms8G", "-Xmx8G"})
+public class ListCompactionBenchmark {
+    private static final int ELEMENTS = 100_000_000;
+
+    @Param({"1", "50", "99"})
+    public int removePercent;
+
+    private List<Integer> source;
+    private List<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        source = new ArrayList<>(ELEMENTS);
+        for (int i = 0; i < ELEMENTS; i++) {
+            source.add(random.nextInt(100));  // small Integers are cached, so this is mostly references
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        list = new ArrayList<>(source);
+    }
+
+    @Benchmark
+    public List<Integer> arrayListRemoveIf() {
+        list.removeIf(x -> x < removePercent);
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> compactionRemoveIf() {
+        ListCompaction.removeIf(list, x -> x < removePercent);
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> compactionRetainIf() {
+        ListCompaction.retainIf(list, x -> x >= removePercent);
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> compactionPartition() {
+        ListCompaction.partitionInPlace(list, x -> x >= removePercent);
+        return list;
+    }
+}
@@ -0,0 +1,84 @@
+package benchmarks;
+
+import objects.NullBitmapList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Dropping nulls from a 10M-element list at different null densities: ObjectsDemo's
+// stream filter against NullBitmapList's count, view and parallel compaction. The
+// bitmap is built once per trial, as it would be alongside the data;
+// bitmapBuildAndCompact pays for building it too.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class NullCompactionBenchmark {
+    private static final int ELEMENTS = 10_000_000;
+
+    @Param({"0", "1", "10", "50", "90", "99"})
+    public int nullPercent;
+
+    private List<String> list;
+    private NullBitmapList<String> bitmap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] values = {"alpha", "beta", "gamma", "delta"};
+        list = new ArrayList<>(ELEMENTS);
+        for (int i = 0; i < ELEMENTS; i++) {
+            list.add(random.nextInt(100) < nullPercent ? null : values[i & 3]);
+        }
+        bitmap = NullBitmapList.copyOf(list);
+    }
+
+    @Benchmark
+    public List<String> streamFilter() {
+        return list.stream().filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> parallelStreamFilter() {
+        return list.parallelStream().filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> bitmapCompact() {
+        return bitmap.compact();
+    }
+
+    @Benchmark
+    public List<String> bitmapBuildAndCompact() {
+        return NullBitmapList.copyOf(list).compact();
+    }
+
+    @Benchmark
+    public long streamCount() {
+        return list.stream().filter(Objects::nonNull).count();
+    }
+
+    @Benchmark
+    public int bitmapCount() {
+        return bitmap.nonNullCount();
+    }
+
+    @Benchmark
+    public void streamFilterForEach(Blackhole bh) {
+        list.stream().filter(Objects::nonNull).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void bitmapViewForEach(Blackhole bh) {
+        bitmap.nonNulls().forEach(bh::consume);
+    }
+}
@@ -0,0 +1,99 @@
+package benchmarks;
+
+import optionals.IntObjectOptionalMap;
+import optionals.LongLongOptionalMap;
+import optionals.ObjectIntOptionalMap;
+import optionals.OptionalMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Lookup loops over 1,024 keys: OptionalMap (boxed key, new Optional per get) vs the
+// primitive-specialized maps. Allocation rate is the interesting number, so run with
+// the GC profiler, e.g. jmh { profilers = ['gc'] } or -prof gc on the JMH jar,
+// and compare gc.alloc.rate.norm across the methods.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 2, jvmArgs = {"-Xms2G", "-Xmx2G"})
+public class OptionalMapBenchmark {
+    private static final int SIZE = 1_024;
+
+    private final OptionalMap<Integer, Integer> boxed = new OptionalMap<>();
+    private final OptionalMap<String, Integer> stringKeyed = new OptionalMap<>();
+    private final IntObjectOptionalMap<Integer> intObject = new IntObjectOptionalMap<>(SIZE);
+    private final LongLongOptionalMap longLong = new LongLongOptionalMap(SIZE);
+    private final ObjectIntOptionalMap<String> objectInt = new ObjectIntOptionalMap<>(SIZE);
+    private final String[] names = new String[SIZE];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < SIZE; i++) {
+            // keys above the Integer cache so boxing really allocates
+            int key = i * 1_000;
+            names[i] = "key" + i;
+            boxed.put(key, i);
+            stringKeyed.put(names[i], i);
+            intObject.put(key, i);
+            longLong.put(key, i);
+            objectInt.put(names[i], i);
+        }
+    }
+
+    @Benchmark
+    public long optionalMapGet() {
+        long total = 0;
+        for (int i = 0; i < SIZE; i++) {
+            total += boxed.get(i * 1_000).orElse(0);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long optionalMapGetOrDefault() {
+        long total = 0;
+        for (int i = 0; i < SIZE; i++) {
+            total += boxed.getOrDefault(i * 1_000, 0);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long intObjectGetOrDefault() {
+        long total = 0;
+        for (int i = 0; i < SIZE; i++) {
+            total += intObject.getOrDefault(i * 1_000, 0);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long longLongGetOrDefault() {
+        long total = 0;
+        for (int i = 0; i < SIZE; i++) {
+            total += longLong.getOrDefault(i * 1_000, 0);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long stringKeyedOptionalMapGet() {
+        long total = 0;
+        for (String name : names) {
+            total += stringKeyed.get(name).orElse(0);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long objectIntGetOrDefault() {
+        long total = 0;
+        for (String name : names) {
+            total += objectInt.getOrDefault(name, 0);
+        }
+        return total;
+    }
+}
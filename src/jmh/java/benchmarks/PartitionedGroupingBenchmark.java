@@ -0,0 +1,69 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import streams.PartitionedGrouping;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Parallel counting and summing by key over 10M elements, from 2 keys up to 10^6:
+// groupingBy vs groupingByConcurrent vs PartitionedGrouping.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class PartitionedGroupingBenchmark {
+    private static final int ELEMENTS = 10_000_000;
+
+    @Param({"2", "100", "10000", "1000000"})
+    private int cardinality;
+
+    private List<Integer> values;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        Integer[] data = new Integer[ELEMENTS];
+        for (int i = 0; i < ELEMENTS; i++) {
+            data[i] = random.nextInt(cardinality);
+        }
+        values = Arrays.asList(data);
+    }
+
+    @Benchmark
+    public Map<Integer, Long> groupingByCounting() {
+        return values.parallelStream()
+                .collect(Collectors.groupingBy(v -> v, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> groupingByConcurrentCounting() {
+        return values.parallelStream()
+                .collect(Collectors.groupingByConcurrent(v -> v, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> partitionedCounting() {
+        return values.parallelStream()
+                .collect(PartitionedGrouping.counting(v -> v, cardinality));
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> groupingBySummingInt() {
+        return values.parallelStream()
+                .collect(Collectors.groupingBy(v -> v, Collectors.summingInt(v -> v)));
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> partitionedSummingInt() {
+        return values.parallelStream()
+                .collect(PartitionedGrouping.summingInt(v -> v, v -> v, cardinality));
+    }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import model.RecordGenerator;
+import model.User;
+import model.UserGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Generating 100M users on the fly, sequential vs parallel, against materializing
+// them in a List first; plus writing them to a record file and streaming it back.
+// The streaming variants never hold more than a few users at once.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms12G", "-Xmx12G"})
+public class RecordGeneratorBenchmark {
+    @Param({"10000000", "100000000"})
+    public long users;
+
+    private final RecordGenerator<User> generator = UserGenerator.users(42);
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("users", ".bin");
+        generator.write(file, users, UserGenerator.FORMAT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static boolean inZap(User user) {
+        return user.getCity().equals("Zap");
+    }
+
+    @Benchmark
+    public long generateSequential() {
+        return generator.stream(users).filter(RecordGeneratorBenchmark::inZap).count();
+    }
+
+    @Benchmark
+    public long generateParallel() {
+        return generator.stream(users).parallel().filter(RecordGeneratorBenchmark::inZap).count();
+    }
+
+    @Benchmark
+    public long materializeList() {
+        // what a benchmark holding all its data on the heap pays up front
+        if (users > Integer.MAX_VALUE) {
+            throw new IllegalStateException("too many users for a List");
+        }
+        return UserGenerator.createUsers((int) users, 42).stream()
+                .filter(RecordGeneratorBenchmark::inZap).count();
+    }
+
+    @Benchmark
+    public void writeFile() throws IOException {
+        generator.write(file, users, UserGenerator.FORMAT);
+    }
+
+    @Benchmark
+    public long readFile() throws IOException {
+        try (Stream<User> read = RecordGenerator.read(file, UserGenerator.FORMAT)) {
+            return read.filter(RecordGeneratorBenchmark::inZap).count();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sorting.SortingMaps;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// 1M entries: update one entry, then read the ten smallest values. Re-sorting into a
+// LinkedHashMap (the old getMapSortedByValue) vs the incrementally maintained view.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class SortingMapsBenchmark {
+    private static final int ENTRIES = 1_000_000;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private Map<Integer, Integer> hashMap;
+    private SortingMaps<Integer, Integer> sortingMaps;
+
+    @Setup
+    public void setUp() {
+        hashMap = new HashMap<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            hashMap.put(i, random.nextInt());
+        }
+        sortingMaps = new SortingMaps<>();
+        sortingMaps.setMap(hashMap);
+    }
+
+    private static long sumFirstTen(Map<Integer, Integer> map) {
+        return map.values().stream().limit(10).mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long resortAfterUpdate() {
+        hashMap.put(random.nextInt(ENTRIES), random.nextInt());
+        Map<Integer, Integer> sorted = hashMap.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+                        (e1, e2) -> e1, LinkedHashMap::new));
+        return sumFirstTen(sorted);
+    }
+
+    @Benchmark
+    public long incrementalViewAfterUpdate() {
+        sortingMaps.put(random.nextInt(ENTRIES), random.nextInt());
+        return sumFirstTen(sortingMaps.getMapSortedByValue());
+    }
+
+    @Benchmark
+    public long incrementalDescendingKeyView() {
+        sortingMaps.put(random.nextInt(ENTRIES), random.nextInt());
+        return sumFirstTen(sortingMaps.getMapSortedByKeyDesc());
+    }
+}
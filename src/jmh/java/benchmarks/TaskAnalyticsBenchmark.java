@@ -0,0 +1,66 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tasks.Task;
+import tasks.TaskAnalytics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.*;
+
+// The UseTasks summaries over 10M tasks: one stream pass per question vs building a
+// TaskAnalytics (one pass into columns, one fused pass over them) and querying it.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms8G", "-Xmx8G"})
+public class TaskAnalyticsBenchmark {
+    private static final int TASKS = 10_000_000;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Integer id = random.nextInt(100) == 0 ? null : i;
+            tasks.add(new Task(id, random.nextBoolean(), 1 + random.nextInt(10), "Task " + random.nextInt(10_000)));
+        }
+    }
+
+    @Benchmark
+    public void multiPassStreams(Blackhole bh) {
+        bh.consume(tasks.stream()
+                .filter(task -> task.isActive() && task.getId() != null)
+                .mapToInt(Task::getId)
+                .sum());
+        bh.consume(tasks.stream()
+                .filter(Task::isActive)
+                .mapToInt(Task::getDuration)
+                .average().orElse(0.0));
+        bh.consume(tasks.stream().sorted(comparing(Task::getDuration)).collect(toList()));
+        bh.consume(tasks.stream().collect(groupingBy(Task::getDuration)));
+        bh.consume(tasks.stream().collect(groupingBy(Task::getDuration, counting())));
+        bh.consume(tasks.stream().collect(partitioningBy(Task::isActive)));
+    }
+
+    @Benchmark
+    public void taskAnalytics(Blackhole bh) {
+        TaskAnalytics analytics = TaskAnalytics.of(tasks);
+        bh.consume(analytics.sumOfActiveIds());
+        bh.consume(analytics.averageActiveDuration());
+        bh.consume(analytics.sortedByDuration());
+        bh.consume(analytics.groupByDuration());
+        bh.consume(analytics.countByDuration());
+        bh.consume(analytics.partitionByActive());
+    }
+}
@@ -0,0 +1,78 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tasks.Task;
+import tasks.TaskScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Running 1M synthetic tasks (CPU work proportional to duration) to completion:
+// FIFO submission to a fixed thread pool vs TaskScheduler, shortest first with work
+// stealing. The makespan should be close; SJF's win is the lower mean queue wait,
+// which TaskScheduler reports through averageQueueWaitNanos().
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class TaskSchedulerBenchmark {
+    private static final int TASKS = 1_000_000;
+    private static final int WORKERS = Runtime.getRuntime().availableProcessors();
+
+    @Param({"0", "1000"})
+    public long agingMicros;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new Task(i, true, 1 + random.nextInt(100), "Task " + i));
+        }
+    }
+
+    private static void work(Task task) {
+        Blackhole.consumeCPU(task.getDuration());
+    }
+
+    @Benchmark
+    public void fifoExecutorService() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(WORKERS);
+        for (Task task : tasks) {
+            executor.execute(() -> work(task));
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.HOURS);
+    }
+
+    @Benchmark
+    public double taskSchedulerOneByOne() {
+        TaskScheduler scheduler = new TaskScheduler(WORKERS, TaskSchedulerBenchmark::work,
+                Duration.ofNanos(agingMicros * 1_000));
+        for (Task task : tasks) {
+            scheduler.submit(task);
+        }
+        scheduler.close();
+        return scheduler.averageQueueWaitNanos();
+    }
+
+    @Benchmark
+    public double taskSchedulerBatch() {
+        TaskScheduler scheduler = new TaskScheduler(WORKERS, TaskSchedulerBenchmark::work,
+                Duration.ofNanos(agingMicros * 1_000));
+        scheduler.submitAll(tasks);
+        scheduler.close();
+        return scheduler.averageQueueWaitNanos();
+    }
+}
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import concurrency.TaskScope;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+// Fan-out/fan-in of 10k trivial subtasks: TaskScope vs CompletableFuture.allOf on the common pool.
+// This mostly measures per-subtask scheduling overhead.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 2, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class TaskScopeBenchmark {
+    private static final int SUBTASKS = 10_000;
+
+    @Benchmark
+    public long taskScopeFanOut() throws InterruptedException, ExecutionException {
+        try (TaskScope.ShutdownOnFailure scope = new TaskScope.ShutdownOnFailure()) {
+            List<TaskScope.Subtask<Long>> subtasks = new ArrayList<>(SUBTASKS);
+            for (int i = 0; i < SUBTASKS; i++) {
+                long n = i;
+                subtasks.add(scope.fork(() -> n * n));
+            }
+            scope.join().throwIfFailed();
+            long total = 0;
+            for (TaskScope.Subtask<Long> subtask : subtasks) {
+                total += subtask.get();
+            }
+            return total;
+        }
+    }
+
+    @Benchmark
+    public long completableFutureFanOut() {
+        List<CompletableFuture<Long>> futures = new ArrayList<>(SUBTASKS);
+        for (int i = 0; i < SUBTASKS; i++) {
+            long n = i;
+            futures.add(CompletableFuture.supplyAsync(() -> n * n));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        long total = 0;
+        for (CompletableFuture<Long> future : futures) {
+            total += future.join();
+        }
+        return total;
+    }
+}
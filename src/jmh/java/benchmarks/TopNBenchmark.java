@@ -0,0 +1,68 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import streams.TopN;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+// Ten longest words: sorted().limit(10) vs the bounded-heap TopN collector, over the
+// dictionary (235k words, held in memory) and over 100M strings generated on the fly.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms12G", "-Xmx12G"})
+public class TopNBenchmark {
+    private static final int SYNTHETIC = 100_000_000;
+    private static final Comparator<String> LONGEST_FIRST =
+            Comparator.comparingInt(String::length).reversed();
+
+    private List<String> dictionary;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (Stream<String> lines = Files.lines(Paths.get("src/main/resources/dict/words"))) {
+            dictionary = lines.collect(Collectors.toList());
+        }
+    }
+
+    private static Stream<String> synthetic() {
+        return LongStream.range(0, SYNTHETIC)
+                .mapToObj(i -> Long.toString(i * 0x9E3779B97F4A7C15L, 36));
+    }
+
+    @Benchmark
+    public List<String> dictionarySortedLimit() {
+        return dictionary.stream().sorted(LONGEST_FIRST).limit(10).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> dictionaryTopN() {
+        return dictionary.stream().collect(TopN.topN(10, LONGEST_FIRST));
+    }
+
+    @Benchmark
+    public List<String> dictionaryTopNParallel() {
+        return dictionary.parallelStream().collect(TopN.topN(10, LONGEST_FIRST));
+    }
+
+    @Benchmark
+    public List<String> syntheticSortedLimit() {
+        return synthetic().parallel().sorted(LONGEST_FIRST).limit(10).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> syntheticTopN() {
+        return synthetic().parallel().collect(TopN.topN(10, LONGEST_FIRST));
+    }
+}
@@ -0,0 +1,152 @@
+package benchmarks;
+
+import model.User;
+import model.UserCodec;
+import model.UserGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+// Writing and reading 10M users: UserCodec (plain and dictionary blocks, read through
+// memory-mapped blocks) vs Java serialization and CSV. The write benchmarks return
+// the file size in bytes, so the JMH output shows the size next to the time.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms8G", "-Xmx8G"})
+public class UserCodecBenchmark {
+    private static final int USERS = 10_000_000;
+
+    private List<User> users;
+    private Path plainFile;
+    private Path dictionaryFile;
+    private Path serializedFile;
+    private Path csvFile;
+    private Path scratch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        users = UserGenerator.createUsers(USERS, 42);
+        plainFile = Files.createTempFile("users-plain", ".bin");
+        dictionaryFile = Files.createTempFile("users-dict", ".bin");
+        serializedFile = Files.createTempFile("users", ".ser");
+        csvFile = Files.createTempFile("users", ".csv");
+        scratch = Files.createTempFile("users-scratch", ".out");
+        UserCodec.plain().write(plainFile, users.stream());
+        UserCodec.dictionary().write(dictionaryFile, users.stream());
+        serialize(serializedFile);
+        writeCsv(csvFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        for (Path file : List.of(plainFile, dictionaryFile, serializedFile, csvFile, scratch)) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void serialize(Path file) throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(users.size());
+            for (int i = 0; i < users.size(); i++) {
+                out.writeObject(users.get(i));
+                if (i % 10_000 == 9_999) {
+                    out.reset();  // otherwise the stream keeps a handle to every user
+                }
+            }
+        }
+    }
+
+    private void writeCsv(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, UTF_8)) {
+            for (User user : users) {
+                out.write(user.getFirstName());
+                out.write(',');
+                out.write(user.getLastName());
+                out.write(',');
+                out.write(Integer.toString(user.getAge()));
+                out.write(',');
+                out.write(user.getCity());
+                out.newLine();
+            }
+        }
+    }
+
+    @Benchmark
+    public long writePlain() throws IOException {
+        UserCodec.plain().write(scratch, users.stream());
+        return Files.size(scratch);
+    }
+
+    @Benchmark
+    public long writeDictionary() throws IOException {
+        UserCodec.dictionary().write(scratch, users.stream());
+        return Files.size(scratch);
+    }
+
+    @Benchmark
+    public long writeJavaSerialization() throws IOException {
+        serialize(scratch);
+        return Files.size(scratch);
+    }
+
+    @Benchmark
+    public long writeCsv() throws IOException {
+        writeCsv(scratch);
+        return Files.size(scratch);
+    }
+
+    @Benchmark
+    public void readPlain(Blackhole bh) throws IOException {
+        try (Stream<User> read = UserCodec.read(plainFile)) {
+            read.forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public void readDictionary(Blackhole bh) throws IOException {
+        try (Stream<User> read = UserCodec.read(dictionaryFile)) {
+            read.forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public long readDictionaryParallel() throws IOException {
+        try (Stream<User> read = UserCodec.read(dictionaryFile)) {
+            return read.parallel().filter(user -> user.getAge() >= 18).count();
+        }
+    }
+
+    @Benchmark
+    public void readJavaSerialization(Blackhole bh) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(serializedFile), 1 << 16))) {
+            int n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                bh.consume(in.readObject());
+            }
+        }
+    }
+
+    @Benchmark
+    public void readCsv(Blackhole bh) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(csvFile, UTF_8)) {
+            for (String line; (line = in.readLine()) != null; ) {
+                String[] fields = line.split(",", -1);
+                bh.consume(new User(fields[0], fields[1], Integer.parseInt(fields[2]), fields[3]));
+            }
+        }
+    }
+}
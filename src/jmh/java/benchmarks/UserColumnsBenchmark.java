@@ -0,0 +1,86 @@
+package benchmarks;
+
+import model.User;
+import model.UserColumns;
+import model.UserGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.*;
+import static model.UserColumns.Column.*;
+
+// 50M generated users: count per city, find all Jetsons and average age per city,
+// on a List<User> with (parallel) streams vs a dictionary-encoded UserColumns.
+// Setup prints the heap each representation retains.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms16G", "-Xmx16G"})
+public class UserColumnsBenchmark {
+    private static final int USERS = 50_000_000;
+
+    private List<User> users;
+    private UserColumns columns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long before = usedHeap();
+        columns = UserColumns.of(UserGenerator.users(42).stream(USERS));
+        long afterColumns = usedHeap();
+        users = UserGenerator.createUsers(USERS, 42);
+        long afterList = usedHeap();
+        System.out.printf("%nUserColumns: %,d MB, List<User>: %,d MB%n",
+                (afterColumns - before) >> 20, (afterList - afterColumns) >> 20);
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    @Benchmark
+    public Map<String, Long> countByCityList() {
+        return users.stream().collect(groupingBy(User::getCity, counting()));
+    }
+
+    @Benchmark
+    public Map<String, Long> countByCityListParallel() {
+        return users.parallelStream().collect(groupingByConcurrent(User::getCity, counting()));
+    }
+
+    @Benchmark
+    public Map<String, Long> countByCityColumns() {
+        return columns.countBy(CITY);
+    }
+
+    @Benchmark
+    public List<User> jetsonsList() {
+        return users.parallelStream().filter(u -> u.getLastName().equals("Jetson")).collect(toList());
+    }
+
+    @Benchmark
+    public int[] jetsonRowsColumns() {
+        return columns.rowsWhere(LAST_NAME, "Jetson");
+    }
+
+    @Benchmark
+    public Map<String, Double> averageAgeByCityList() {
+        return users.parallelStream().collect(groupingByConcurrent(User::getCity, averagingInt(User::getAge)));
+    }
+
+    @Benchmark
+    public Map<String, Double> averageAgeByCityColumns() {
+        return columns.averageAgeBy(CITY);
+    }
+}
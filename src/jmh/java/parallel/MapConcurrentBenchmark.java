@@ -0,0 +1,50 @@
+package parallel;
+
+import concurrency.MapConcurrent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Compares a sleep-heavy mapper (1 ms per element) in .parallel().map()
+// against MapConcurrent.mapConcurrent with a wide concurrency window.
+// The parallel version is bounded by the common pool size; mapConcurrent is
+// bounded by maxConcurrency instead.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms4G", "-Xmx4G"})
+public class MapConcurrentBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    @Param({"1000"})
+    private int maxConcurrency;
+
+    public int doubleIt(int n) {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException ignored) {
+        }
+        return n * 2;
+    }
+
+    @Benchmark
+    public int parallelMap() {
+        return IntStream.range(0, size)
+                .parallel()
+                .map(this::doubleIt)
+                .sum();
+    }
+
+    @Benchmark
+    public int mapConcurrent() {
+        return MapConcurrent.mapConcurrent(IntStream.range(0, size).boxed(),
+                        maxConcurrency, this::doubleIt)
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+}
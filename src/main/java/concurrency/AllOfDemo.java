@@ -1,7 +1,10 @@
 package concurrency;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class AllOfDemo {
@@ -18,7 +21,22 @@ public class AllOfDemo {
         return CompletableFuture.supplyAsync(this::getNextValue);
     }
 
-    public static void main(String[] args) {
+    // Structured alternative to allOf: if one value fails, its siblings are cancelled
+    // instead of being left running in the common pool
+    public List<Integer> getValues(int count) throws InterruptedException, ExecutionException {
+        try (TaskScope.ShutdownOnFailure scope = new TaskScope.ShutdownOnFailure()) {
+            List<TaskScope.Subtask<Integer>> subtasks = Stream.generate(
+                            () -> scope.fork(this::getNextValue))
+                    .limit(count)
+                    .collect(Collectors.toList());
+            scope.join().throwIfFailed();
+            return subtasks.stream()
+                    .map(TaskScope.Subtask::get)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
         AllOfDemo demo = new AllOfDemo();
         CompletableFuture[] completableFutures = Stream.generate(demo::getValue)
                 .limit(10)
@@ -29,5 +47,7 @@ public class AllOfDemo {
         Arrays.stream(completableFutures)
                 .map(CompletableFuture::join)
                 .forEach(System.out::println);
+
+        demo.getValues(10).forEach(System.out::println);
     }
 }
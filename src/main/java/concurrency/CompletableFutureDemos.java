@@ -1,11 +1,20 @@
 package concurrency;
 
+import metrics.Counter;
+import metrics.Metrics;
+import metrics.NanoTimer;
+
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 public class CompletableFutureDemos {
+    private static final NanoTimer GET_PRODUCT_TIMER =
+            Metrics.timer("concurrency.CompletableFutureDemos.getProduct");
+    private static final Counter CACHE_HITS =
+            Metrics.counter("concurrency.CompletableFutureDemos.cacheHits");
+
     private final Logger logger = Logger.getLogger(this.getClass().getName());
 
     private final Map<Integer, Product> cache = new ConcurrentHashMap<>();
@@ -26,10 +35,12 @@ public class CompletableFutureDemos {
     }
 
     public CompletableFuture<Product> getProduct(int id) {
+        long start = GET_PRODUCT_TIMER.start();
         try {
             Product product = getLocal(id);
             if (product != null) {
                 logger.info("getLocal with id=" + id);
+                CACHE_HITS.increment();
                 return CompletableFuture.completedFuture(product);
             } else {
                 // Synchronous (simulating legacy system)
@@ -45,6 +56,8 @@ public class CompletableFutureDemos {
             CompletableFuture<Product> future = new CompletableFuture<>();
             future.completeExceptionally(e);
             return future;
+        } finally {
+            GET_PRODUCT_TIMER.stop(start);
         }
     }
 
@@ -45,6 +45,21 @@ public class FutureDemo {
 
         if (!service.isShutdown())
             service.shutdown();
+
+        // Same idea with a scope: no executor to manage, and nothing outlives the block
+        try (TaskScope.ShutdownOnSuccess<String> scope = new TaskScope.ShutdownOnSuccess<>()) {
+            scope.fork(() -> {
+                Thread.sleep(100);
+                return "Hello from the slow subtask";
+            });
+            scope.fork(() -> {
+                Thread.sleep(10);
+                return "Hello from the fast subtask";
+            });
+            System.out.println(scope.join().result());
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+        }
     }
 
     private static void getIfNotCancelled(Future<String> future) {
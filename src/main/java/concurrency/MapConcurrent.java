@@ -0,0 +1,111 @@
+package concurrency;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A stream stage for blocking mappers.
+ * <p>
+ * {@code stream.parallel().map(f)} runs {@code f} on the common pool, which only has
+ * as many workers as there are cores. If {@code f} sleeps or waits on I/O, those workers
+ * just sit there. {@link #mapConcurrent} instead keeps up to {@code maxConcurrency}
+ * calls in flight on blocking-friendly threads and still emits results in encounter order.
+ */
+public final class MapConcurrent {
+    private MapConcurrent() {}
+
+    /**
+     * Lazily maps {@code source} with at most {@code maxConcurrency} calls to {@code mapper}
+     * running at once. Results come out in the same order as the source elements. If a
+     * mapper call fails, the remaining in-flight calls are cancelled and the failure is
+     * rethrown (wrapped in a {@link CompletionException} if it was checked).
+     */
+    public static <T, R> Stream<R> mapConcurrent(Stream<T> source, int maxConcurrency,
+                                                 Function<? super T, ? extends R> mapper) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        WindowIterator<T, R> iterator = new WindowIterator<>(source.iterator(), maxConcurrency, mapper);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::shutdown)
+                .onClose(source::close);
+    }
+
+    // Sliding window of futures: the head is always the next element in encounter order
+    private static final class WindowIterator<T, R> implements Iterator<R> {
+        private final Iterator<T> source;
+        private final int maxConcurrency;
+        private final Function<? super T, ? extends R> mapper;
+        private final Deque<Future<R>> window = new ArrayDeque<>();
+        private ExecutorService executor;
+
+        WindowIterator(Iterator<T> source, int maxConcurrency, Function<? super T, ? extends R> mapper) {
+            this.source = source;
+            this.maxConcurrency = maxConcurrency;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            fill();
+            if (window.isEmpty()) {
+                shutdown();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Future<R> head = window.poll();
+            try {
+                return head.get();
+            } catch (ExecutionException e) {
+                shutdown();
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw new CompletionException(cause);
+            } catch (InterruptedException e) {
+                shutdown();
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for mapped element");
+            }
+        }
+
+        private void fill() {
+            while (window.size() < maxConcurrency && source.hasNext()) {
+                if (executor == null) {
+                    executor = BlockingExecutors.newExecutor(maxConcurrency);
+                }
+                T element = source.next();
+                window.add(executor.submit(() -> mapper.apply(element)));
+            }
+        }
+
+        void shutdown() {
+            window.forEach(future -> future.cancel(true));
+            window.clear();
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+}
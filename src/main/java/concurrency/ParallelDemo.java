@@ -47,5 +47,16 @@ public class ParallelDemo {
         Duration duration = Duration.between(before, after);
         System.out.println("Total of doubles = " + total);
         System.out.println("time = " + duration.toMillis() + " ms");
+
+        // Blocking mapper on its own threads, so the common pool isn't pinned
+        before = Instant.now();
+        total = MapConcurrent.mapConcurrent(IntStream.of(3, 1, 4, 1, 5, 9).boxed(),
+                        6, ParallelDemo::doubleIt)
+                .mapToInt(Integer::intValue)
+                .sum();
+        after = Instant.now();
+        duration = Duration.between(before, after);
+        System.out.println("Total of doubles (mapConcurrent) = " + total);
+        System.out.println("time = " + duration.toMillis() + " ms");
     }
 }
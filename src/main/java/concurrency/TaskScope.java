@@ -0,0 +1,339 @@
+package concurrency;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A structured fork/join scope, modelled on {@code StructuredTaskScope} from JDK 21+.
+ * <p>
+ * Subtasks forked in a scope never outlive it: {@link #close()} cancels whatever is
+ * still running and waits for it. The {@link ShutdownOnFailure} and
+ * {@link ShutdownOnSuccess} policies shut the scope down (interrupting siblings) as soon
+ * as the outcome is known.
+ * <pre>
+ *     try (var scope = new TaskScope.ShutdownOnFailure()) {
+ *         var user  = scope.fork(() -> findUser(id));
+ *         var order = scope.fork(() -> fetchOrder(id));
+ *         scope.join().throwIfFailed();
+ *         return new Response(user.get(), order.get());
+ *     }
+ * </pre>
+ */
+public class TaskScope<T> implements AutoCloseable {
+    private static final int DEFAULT_MAX_THREADS = 256;
+
+    private final ExecutorService executor;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition done = lock.newCondition();
+    private final List<Future<?>> futures = new ArrayList<>();
+    private int running;
+    private volatile boolean shutdown;
+    private boolean closed;
+
+    public TaskScope() {
+        this(DEFAULT_MAX_THREADS);
+    }
+
+    /**
+     * @param maxThreads platform-thread cap used when virtual threads are unavailable
+     */
+    public TaskScope(int maxThreads) {
+        this.executor = BlockingExecutors.newExecutor(maxThreads);
+    }
+
+    public enum State {UNAVAILABLE, SUCCESS, FAILED}
+
+    public static final class Subtask<T> {
+        private final Callable<? extends T> task;
+        private volatile State state = State.UNAVAILABLE;
+        private T result;
+        private Throwable exception;
+
+        private Subtask(Callable<? extends T> task) {
+            this.task = task;
+        }
+
+        public State state() {
+            return state;
+        }
+
+        public T get() {
+            if (state != State.SUCCESS) {
+                throw new IllegalStateException("Subtask not completed successfully: " + state);
+            }
+            return result;
+        }
+
+        public Throwable exception() {
+            if (state != State.FAILED) {
+                throw new IllegalStateException("Subtask not failed: " + state);
+            }
+            return exception;
+        }
+
+        private void run() {
+            try {
+                result = task.call();
+                state = State.SUCCESS;
+            } catch (Throwable t) {
+                exception = t;
+                state = State.FAILED;
+            }
+        }
+    }
+
+    public <U extends T> Subtask<U> fork(Callable<? extends U> task) {
+        Subtask<U> subtask = new Subtask<>(task);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Scope is closed");
+            }
+            if (shutdown) {
+                return subtask;  // never runs, stays UNAVAILABLE
+            }
+            running++;
+            futures.add(executor.submit(() -> {
+                try {
+                    subtask.run();
+                    if (!isShutdown()) {
+                        handleComplete(subtask);
+                    }
+                } finally {
+                    subtaskDone();
+                }
+            }));
+        } finally {
+            lock.unlock();
+        }
+        return subtask;
+    }
+
+    /**
+     * Called on the subtask's thread when it finishes, unless the scope has already
+     * been shut down. Policies override this to decide when to shut down.
+     */
+    protected void handleComplete(Subtask<? extends T> subtask) {
+    }
+
+    private void subtaskDone() {
+        lock.lock();
+        try {
+            running--;
+            done.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until all subtasks have finished or the scope is shut down.
+     */
+    public TaskScope<T> join() throws InterruptedException {
+        lock.lock();
+        try {
+            while (running > 0 && !shutdown) {
+                done.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return this;
+    }
+
+    public TaskScope<T> joinUntil(Instant deadline) throws InterruptedException, TimeoutException {
+        lock.lock();
+        try {
+            long nanos = Duration.between(Instant.now(), deadline).toNanos();
+            while (running > 0 && !shutdown) {
+                if (nanos <= 0) {
+                    shutdownLocked();
+                    throw new TimeoutException("Deadline " + deadline + " reached");
+                }
+                nanos = done.awaitNanos(nanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return this;
+    }
+
+    /**
+     * Stops new subtasks from starting and interrupts the ones still running.
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdownLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void shutdownLocked() {
+        if (!shutdown) {
+            shutdown = true;
+            futures.forEach(future -> future.cancel(true));
+            done.signalAll();
+        }
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Shuts the scope down and waits for every subtask thread to finish.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            shutdownLocked();
+        } finally {
+            lock.unlock();
+        }
+        executor.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Shuts down as soon as any subtask fails.
+     */
+    public static class ShutdownOnFailure extends TaskScope<Object> {
+        private final AtomicReference<Throwable> firstException = new AtomicReference<>();
+
+        public ShutdownOnFailure() {
+            super();
+        }
+
+        public ShutdownOnFailure(int maxThreads) {
+            super(maxThreads);
+        }
+
+        @Override
+        protected void handleComplete(Subtask<?> subtask) {
+            if (subtask.state() == State.FAILED
+                    && firstException.compareAndSet(null, subtask.exception())) {
+                shutdown();
+            }
+        }
+
+        @Override
+        public ShutdownOnFailure join() throws InterruptedException {
+            super.join();
+            return this;
+        }
+
+        @Override
+        public ShutdownOnFailure joinUntil(Instant deadline) throws InterruptedException, TimeoutException {
+            super.joinUntil(deadline);
+            return this;
+        }
+
+        public Throwable exception() {
+            return firstException.get();
+        }
+
+        public void throwIfFailed() throws ExecutionException {
+            Throwable exception = firstException.get();
+            if (exception != null) {
+                throw new ExecutionException(exception);
+            }
+        }
+
+        public <X extends Throwable> void throwIfFailed(Function<Throwable, ? extends X> mapper) throws X {
+            Throwable exception = firstException.get();
+            if (exception != null) {
+                throw mapper.apply(exception);
+            }
+        }
+    }
+
+    /**
+     * Shuts down as soon as any subtask succeeds and keeps that first result.
+     */
+    public static class ShutdownOnSuccess<T> extends TaskScope<T> {
+        private static final Object NULL_RESULT = new Object();
+
+        private final AtomicReference<Object> firstResult = new AtomicReference<>();
+        private final AtomicReference<Throwable> firstException = new AtomicReference<>();
+
+        public ShutdownOnSuccess() {
+            super();
+        }
+
+        public ShutdownOnSuccess(int maxThreads) {
+            super(maxThreads);
+        }
+
+        @Override
+        protected void handleComplete(Subtask<? extends T> subtask) {
+            if (subtask.state() == State.SUCCESS) {
+                T result = subtask.get();
+                if (firstResult.compareAndSet(null, result == null ? NULL_RESULT : result)) {
+                    shutdown();
+                }
+            } else if (subtask.state() == State.FAILED) {
+                firstException.compareAndSet(null, subtask.exception());
+            }
+        }
+
+        @Override
+        public ShutdownOnSuccess<T> join() throws InterruptedException {
+            super.join();
+            return this;
+        }
+
+        @Override
+        public ShutdownOnSuccess<T> joinUntil(Instant deadline) throws InterruptedException, TimeoutException {
+            super.joinUntil(deadline);
+            return this;
+        }
+
+        public T result() throws ExecutionException {
+            return result(ExecutionException::new);
+        }
+
+        @SuppressWarnings("unchecked")
+        public <X extends Throwable> T result(Function<Throwable, ? extends X> mapper) throws X {
+            Object result = firstResult.get();
+            if (result != null) {
+                return result == NULL_RESULT ? null : (T) result;
+            }
+            Throwable exception = firstException.get();
+            if (exception != null) {
+                throw mapper.apply(exception);
+            }
+            throw new IllegalStateException("No subtask completed");
+        }
+    }
+}
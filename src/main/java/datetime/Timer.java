@@ -5,7 +5,12 @@ import java.time.Instant;
 
 public class Timer {
     public static double getTiming(Instant start, Instant end) {
-        return Duration.between(start, end).toMillis() / 1000.0;
+        return Duration.between(start, end).toNanos() / 1e9;
+    }
+
+    // Prefer System.nanoTime() readings for sub-millisecond work
+    public static double getTiming(long startNanos, long endNanos) {
+        return (endNanos - startNanos) / 1e9;
     }
 
     public static void main(String[] args) {
@@ -18,5 +23,14 @@ public class Timer {
         }
         Instant end = Instant.now();
         System.out.println(getTiming(start, end) + " seconds");
+
+        long startNanos = System.nanoTime();
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+        long endNanos = System.nanoTime();
+        System.out.println(getTiming(startNanos, endNanos) + " seconds");
     }
 }
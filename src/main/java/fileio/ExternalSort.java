@@ -0,0 +1,338 @@
+package fileio;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Memory-bounded sort for string streams that don't fit in the heap.
+ * <p>
+ * Lines are buffered until their estimated heap footprint reaches the memory budget.
+ * Each full buffer is sorted and spilled to a temp file as a run of length-prefixed
+ * UTF-8 records, written through a {@link FileChannel} from a direct buffer. The
+ * runs are then merged k ways with a heap, reading each run through its own direct
+ * buffer, so the merge holds only one line per run on the heap. If the whole input
+ * fits in the budget it is sorted in memory and nothing touches the disk.
+ * <pre>
+ *     try (Stream&lt;String&gt; sorted = ExternalSort.sorted(Files.lines(words),
+ *             comparingInt(String::length).reversed(), 64 * 1024 * 1024)) {
+ *         sorted.limit(10).forEach(System.out::println);
+ *     }
+ * </pre>
+ * The sort is stable. Close the returned stream to delete the temp files.
+ */
+public final class ExternalSort {
+    // rough heap cost of a short String: header, byte[] header and the list slot
+    private static final int STRING_OVERHEAD = 64;
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_FAN_IN = 128;
+
+    private ExternalSort() {}
+
+    /**
+     * Sorts {@code lines}, spilling to temp files whenever the buffered lines exceed
+     * {@code memoryBudget} bytes. The source stream is consumed and closed before the
+     * result is returned.
+     */
+    public static Stream<String> sorted(Stream<String> lines, Comparator<? super String> comparator,
+                                        long memoryBudget) {
+        return sorted(lines, comparator, memoryBudget, DEFAULT_FAN_IN);
+    }
+
+    /** Sorts the lines of {@code input} into {@code output}. */
+    public static void sort(Path input, Path output, Comparator<? super String> comparator,
+                            long memoryBudget) throws IOException {
+        try (Stream<String> sorted = sorted(Files.lines(input), comparator, memoryBudget)) {
+            Files.write(output, (Iterable<String>) sorted::iterator);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    static Stream<String> sorted(Stream<String> lines, Comparator<? super String> comparator,
+                                 long memoryBudget, int fanIn) {
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("memoryBudget must be positive: " + memoryBudget);
+        }
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("fanIn must be at least 2: " + fanIn);
+        }
+        List<Path> runs = new ArrayList<>();
+        List<String> buffer = new ArrayList<>();
+        try (lines) {
+            long used = 0;
+            for (Iterator<String> it = lines.iterator(); it.hasNext(); ) {
+                String line = it.next();
+                buffer.add(line);
+                used += STRING_OVERHEAD + line.length();
+                if (used >= memoryBudget) {
+                    buffer.sort(comparator);
+                    runs.add(writeRun(buffer));
+                    buffer.clear();
+                    used = 0;
+                }
+            }
+            buffer.sort(comparator);
+            if (runs.isEmpty()) {
+                return buffer.stream();
+            }
+            if (!buffer.isEmpty()) {
+                runs.add(writeRun(buffer));
+            }
+            buffer = null;
+            while (runs.size() > fanIn) {
+                runs = mergePass(runs, comparator, fanIn);
+            }
+        } catch (IOException e) {
+            deleteAll(runs);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException | Error e) {
+            deleteAll(runs);
+            throw e;
+        }
+        return merged(runs, comparator);
+    }
+
+    // Merges groups of fanIn runs into new runs until one final merge is possible
+    private static List<Path> mergePass(List<Path> runs, Comparator<? super String> comparator,
+                                        int fanIn) throws IOException {
+        List<Path> next = new ArrayList<>();
+        try {
+            for (int from = 0; from < runs.size(); from += fanIn) {
+                List<Path> group = runs.subList(from, Math.min(runs.size(), from + fanIn));
+                RunWriter writer = new RunWriter();
+                next.add(writer.path);
+                try (writer; Merger merger = new Merger(group, comparator)) {
+                    while (merger.hasNext()) {
+                        writer.write(merger.next());
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            // the caller only knows about the old runs; this pass's output is ours to delete
+            deleteAll(next);
+            throw e;
+        }
+        return next;
+    }
+
+    private static Stream<String> merged(List<Path> runs, Comparator<? super String> comparator) {
+        Merger merger;
+        try {
+            merger = new Merger(runs, comparator);
+        } catch (IOException e) {
+            deleteAll(runs);
+            throw new UncheckedIOException(e);
+        }
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(merger, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(merger::close);
+    }
+
+    private static Path writeRun(List<String> sortedLines) throws IOException {
+        try (RunWriter writer = new RunWriter()) {
+            for (String line : sortedLines) {
+                writer.write(line);
+            }
+            return writer.path;
+        }
+    }
+
+    private static void deleteAll(List<Path> paths) {
+        for (Path path : paths) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // best effort; the file is in the temp directory
+            }
+        }
+    }
+
+    private static final class RunWriter implements AutoCloseable {
+        private final Path path;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+
+        RunWriter() throws IOException {
+            // no deleteOnExit: its JVM-wide list never shrinks, and every run is deleted explicitly
+            path = Files.createTempFile("sort-run-", ".bin");
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(path);
+                throw e;
+            }
+        }
+
+        void write(String line) throws IOException {
+            byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(bytes.length);
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private static final class RunReader implements AutoCloseable {
+        private final int index;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+        private String head;
+
+        RunReader(int index, Path path) throws IOException {
+            this.index = index;
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            buffer.flip();
+        }
+
+        // Reads the next record into head; false at end of run
+        boolean advance() throws IOException {
+            if (!fill(Integer.BYTES)) {
+                head = null;
+                return false;
+            }
+            byte[] bytes = new byte[buffer.getInt()];
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (!buffer.hasRemaining() && !fill(1)) {
+                    throw new IOException("Truncated sort run");
+                }
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.get(bytes, offset, chunk);
+                offset += chunk;
+            }
+            head = new String(bytes, StandardCharsets.UTF_8);
+            return true;
+        }
+
+        private boolean fill(int needed) throws IOException {
+            if (buffer.remaining() >= needed) {
+                return true;
+            }
+            buffer.compact();
+            while (buffer.position() < needed) {
+                if (channel.read(buffer) < 0) {
+                    buffer.flip();
+                    if (buffer.hasRemaining()) {
+                        throw new IOException("Truncated sort run");
+                    }
+                    return false;
+                }
+            }
+            buffer.flip();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static final class Merger implements Iterator<String>, AutoCloseable {
+        private final List<Path> runs;
+        private final List<RunReader> readers = new ArrayList<>();
+        private final PriorityQueue<RunReader> heap;
+
+        Merger(List<Path> runs, Comparator<? super String> comparator) throws IOException {
+            this.runs = runs;
+            // ties go to the earlier run, which keeps the sort stable
+            this.heap = new PriorityQueue<>(Math.max(1, runs.size()),
+                    Comparator.<RunReader, String>comparing(r -> r.head, comparator)
+                            .thenComparingInt(r -> r.index));
+            try {
+                for (int i = 0; i < runs.size(); i++) {
+                    RunReader reader = new RunReader(i, runs.get(i));
+                    readers.add(reader);
+                    if (reader.advance()) {
+                        heap.add(reader);
+                    }
+                }
+            } catch (IOException e) {
+                closeReaders();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heap.isEmpty();
+        }
+
+        @Override
+        public String next() {
+            RunReader reader = heap.poll();
+            if (reader == null) {
+                throw new NoSuchElementException();
+            }
+            String line = reader.head;
+            try {
+                if (reader.advance()) {
+                    heap.add(reader);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return line;
+        }
+
+        private void closeReaders() {
+            for (RunReader reader : readers) {
+                try {
+                    reader.close();
+                } catch (IOException ignored) {
+                    // closing a read-only channel
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            heap.clear();
+            closeReaders();
+            deleteAll(runs);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package fileio;
 
+import metrics.Metrics;
+import metrics.NanoTimer;
+
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
@@ -12,6 +15,8 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class Jumble {
+    private static final NanoTimer SOLVE_TIMER = Metrics.timer("fileio.Jumble.solve");
+
     private final Map<String, List<String>> wordMap;
 
     public Jumble() {
@@ -30,8 +35,13 @@ public class Jumble {
     }
 
     public String solve(String clue) {
-        return wordMap.getOrDefault(word2key(clue),
-                Collections.singletonList("")).get(0);
+        long start = SOLVE_TIMER.start();
+        try {
+            return wordMap.getOrDefault(word2key(clue),
+                    Collections.singletonList("")).get(0);
+        } finally {
+            SOLVE_TIMER.stop(start);
+        }
     }
 
     public List<String> parallelSolve(String... clues) {
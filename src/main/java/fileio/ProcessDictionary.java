@@ -1,5 +1,7 @@
 package fileio;
 
+import streams.TopN;
+
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
@@ -40,6 +42,30 @@ public class ProcessDictionary {
         }
     }
 
+    // Same result with a bounded heap: keeps 10 words instead of sorting all of them
+    public void printTenLongestWordsWithTopN() {
+        System.out.println("\nTen Longest Words (top-N):");
+        try (Stream<String> words = Files.lines(dictionary)) {
+            words.filter(s -> s.length() > 20)
+                    .collect(TopN.topN(10, Comparator.comparingInt(String::length).reversed()))
+                    .forEach(w -> System.out.printf("%s (%d)%n", w, w.length()));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Same result for word lists too big for the heap: sorted runs spill to temp files
+    public void printTenLongestWordsExternally(long memoryBudget) {
+        System.out.println("\nTen Longest Words (external sort):");
+        try (Stream<String> sorted = ExternalSort.sorted(Files.lines(dictionary),
+                Comparator.comparingInt(String::length).reversed(), memoryBudget)) {
+            sorted.limit(10)
+                    .forEach(w -> System.out.printf("%s (%d)%n", w, w.length()));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     public void printWordsOfEachLength() {
         System.out.println("\nList of words of each length:");
         try (Stream<String> words = Files.lines(dictionary)) {
@@ -95,6 +121,8 @@ public class ProcessDictionary {
     public static void main(String[] args) {
         ProcessDictionary processDictionary = new ProcessDictionary();
         processDictionary.printTenLongestWords();
+        processDictionary.printTenLongestWordsWithTopN();
+        processDictionary.printTenLongestWordsExternally(1024 * 1024);
         processDictionary.printWordsOfEachLength();
         processDictionary.printHowManyWordsOfEachLength();
         processDictionary.printSortedMapOfWords();
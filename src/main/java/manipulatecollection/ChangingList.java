@@ -9,6 +9,7 @@ public class ChangingList {
 
     public static void main(String[] args) {
         removeAllMatchingElements();
+        removeAllMatchingElementsInBulk();
     }
 
     public static void removeAllMatchingElements() {
@@ -24,4 +25,20 @@ public class ChangingList {
         System.out.println("after: " + users);
 
     }
+
+    public static void removeAllMatchingElementsInBulk() {
+        System.out.println(" ----- removeAllMatchingElementsInBulk");
+        // for millions of elements, test and compact in parallel
+        List<User> users = new java.util.ArrayList<>(UserGenerator.createUsers(1_000_000, 42));
+        System.out.println("before: " + users.size() + " users");
+
+        int removed = ListCompaction.removeIf(users, user -> user.getLastName()
+                                                              .equals("Jetson"));
+
+        System.out.println("removed: " + removed);
+        System.out.println("after: " + users.size() + " users");
+
+        int adults = ListCompaction.partitionInPlace(users, user -> user.getAge() >= 18);
+        System.out.println("adults first: " + adults + " of " + users.size());
+    }
 }
@@ -0,0 +1,151 @@
+package manipulatecollection;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk {@code removeIf}, {@code retainIf} and stable partitioning for very large lists.
+ * <p>
+ * {@code ArrayList.removeIf} already works in two passes (mark, then compact), but
+ * both run on the calling thread. Here the elements are copied out once and split into
+ * 64-aligned segments. The predicate runs on every segment in parallel, setting bits in
+ * a {@code long[]} and counting matches. A prefix sum over the counts gives each
+ * segment its place in the result, so the survivors are scattered in parallel too.
+ * Finally the list is overwritten in one sequential pass.
+ * <p>
+ * The predicate may be called from several threads at once, so it has to be
+ * stateless. Lists below {@value #PARALLEL_THRESHOLD} elements take the ordinary
+ * sequential path. Above that, nothing is written back until every element has
+ * been tested, so a predicate that throws leaves the list unchanged.
+ */
+public final class ListCompaction {
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int SEGMENT = 1 << 14;  // elements; a multiple of 64
+
+    private ListCompaction() {
+    }
+
+    /**
+     * Removes every element matching {@code filter}, keeping the order of the rest.
+     *
+     * @return the number of elements removed
+     */
+    public static <T> int removeIf(List<T> list, Predicate<? super T> filter) {
+        return remove(list, filter, true);
+    }
+
+    /**
+     * Keeps only the elements matching {@code filter}, in their original order.
+     *
+     * @return the number of elements removed
+     */
+    public static <T> int retainIf(List<T> list, Predicate<? super T> filter) {
+        return remove(list, filter, false);
+    }
+
+    /**
+     * Reorders the list so the elements matching {@code predicate} come first. Both
+     * groups keep their original relative order.
+     *
+     * @return the number of matching elements, i.e. the index of the first non-match
+     */
+    public static <T> int partitionInPlace(List<T> list, Predicate<? super T> predicate) {
+        Object[] elements = list.toArray();
+        int n = elements.length;
+        long[] bits = new long[(n + 63) >>> 6];
+        int[] starts = mark(elements, bits, predicate);
+        int matches = starts[starts.length - 1];
+        if (matches == 0 || matches == n) {
+            return matches;
+        }
+        Object[] partitioned = new Object[n];
+        segments(n).forEach(s -> {
+            int match = starts[s];
+            int rest = matches + s * SEGMENT - starts[s];  // non-matches before this segment
+            for (int i = s * SEGMENT, end = Math.min(i + SEGMENT, n); i < end; i++) {
+                if (isSet(bits, i)) {
+                    partitioned[match++] = elements[i];
+                } else {
+                    partitioned[rest++] = elements[i];
+                }
+            }
+        });
+        overwrite(list, partitioned);
+        return matches;
+    }
+
+    private static <T> int remove(List<T> list, Predicate<? super T> filter, boolean removeMatches) {
+        int n = list.size();
+        if (n < PARALLEL_THRESHOLD) {
+            int before = list.size();
+            list.removeIf(removeMatches ? filter : filter.negate());
+            return before - list.size();
+        }
+        Object[] elements = list.toArray();
+        long[] bits = new long[(n + 63) >>> 6];
+        int[] starts = mark(elements, bits, filter);
+        int matches = starts[starts.length - 1];
+        int kept = removeMatches ? n - matches : matches;
+        if (kept == n) {
+            return 0;
+        }
+        Object[] survivors = new Object[kept];
+        segments(n).forEach(s -> {
+            // survivors before this segment: the matches or the non-matches before it
+            int next = removeMatches ? s * SEGMENT - starts[s] : starts[s];
+            for (int i = s * SEGMENT, end = Math.min(i + SEGMENT, n); i < end; i++) {
+                if (isSet(bits, i) != removeMatches) {
+                    survivors[next++] = elements[i];
+                }
+            }
+        });
+        list.subList(kept, n).clear();
+        overwrite(list, survivors);
+        return n - kept;
+    }
+
+    // Sets bit i for every match; returns the matches before each segment, then the total
+    @SuppressWarnings("unchecked")
+    private static <T> int[] mark(Object[] elements, long[] bits, Predicate<? super T> predicate) {
+        int n = elements.length;
+        int[] counts = segments(n).map(s -> {
+            int count = 0;
+            for (int i = s * SEGMENT, end = Math.min(i + SEGMENT, n); i < end; i++) {
+                if (predicate.test((T) elements[i])) {
+                    bits[i >>> 6] |= 1L << i;
+                    count++;
+                }
+            }
+            return count;
+        }).toArray();
+        int[] starts = new int[counts.length + 1];
+        for (int s = 0; s < counts.length; s++) {
+            starts[s + 1] = starts[s] + counts[s];
+        }
+        return starts;
+    }
+
+    private static IntStream segments(int n) {
+        IntStream segments = IntStream.range(0, (n + SEGMENT - 1) / SEGMENT);
+        return n >= PARALLEL_THRESHOLD ? segments.parallel() : segments;
+    }
+
+    private static boolean isSet(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    // one pass over the list, replacing each element with the next from source
+    @SuppressWarnings("unchecked")
+    private static <T> void overwrite(List<T> list, Object[] source) {
+        list.replaceAll(new UnaryOperator<>() {
+            private int next;
+
+            @Override
+            public T apply(T ignored) {
+                return (T) source[next++];
+            }
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class Counter {
+    private final String name;
+    private final LongAdder adder = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void increment() {
+        if (Metrics.isEnabled()) {
+            adder.increment();
+        }
+    }
+
+    public void add(long delta) {
+        if (Metrics.isEnabled()) {
+            adder.add(delta);
+        }
+    }
+
+    public long getCount() {
+        return adder.sum();
+    }
+
+    void reset() {
+        adder.reset();
+    }
+}
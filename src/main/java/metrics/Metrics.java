@@ -0,0 +1,59 @@
+package metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of named timers, counters and histograms.
+ * <p>
+ * Recording is off unless {@code -Dmetrics.enabled=true} is set or {@link #enable()}
+ * is called. While disabled every record call is a single volatile read, so
+ * instrumented code can be left in hot paths.
+ */
+public final class Metrics {
+    private static volatile boolean enabled = Boolean.getBoolean("metrics.enabled");
+
+    private static final Map<String, NanoTimer> timers = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    private Metrics() {}
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static NanoTimer timer(String name) {
+        return timers.computeIfAbsent(name, NanoTimer::new);
+    }
+
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    public static Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, Histogram::new);
+    }
+
+    public static MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(timers.values(), counters.values(), histograms.values());
+    }
+
+    /**
+     * Zero every registered metric. Registrations are kept, so fields holding
+     * a timer or counter stay valid.
+     */
+    public static void reset() {
+        timers.values().forEach(NanoTimer::reset);
+        counters.values().forEach(Counter::reset);
+        histograms.values().forEach(Histogram::reset);
+    }
+}
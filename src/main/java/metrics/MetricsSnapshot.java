@@ -0,0 +1,103 @@
+package metrics;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable copy of every registered metric, sorted by name, with
+ * plain-text and JSON renderings.
+ */
+public class MetricsSnapshot {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, HistogramSnapshot> timers;
+    private final Map<String, Long> counters;
+    private final Map<String, HistogramSnapshot> histograms;
+
+    MetricsSnapshot(Collection<NanoTimer> timers, Collection<Counter> counters,
+                    Collection<Histogram> histograms) {
+        this.timers = timers.stream()
+                .collect(Collectors.toMap(NanoTimer::getName, NanoTimer::snapshot,
+                        (a, b) -> a, TreeMap::new));
+        this.counters = counters.stream()
+                .collect(Collectors.toMap(Counter::getName, Counter::getCount,
+                        (a, b) -> a, TreeMap::new));
+        this.histograms = histograms.stream()
+                .collect(Collectors.toMap(Histogram::getName, Histogram::snapshot,
+                        (a, b) -> a, TreeMap::new));
+    }
+
+    public Map<String, HistogramSnapshot> getTimers() {
+        return timers;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public Map<String, HistogramSnapshot> getHistograms() {
+        return histograms;
+    }
+
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        timers.values().forEach(h -> appendText(sb, "timer", h, "ns"));
+        counters.forEach((name, count) ->
+                sb.append(String.format("counter   %s count=%d%n", name, count)));
+        histograms.values().forEach(h -> appendText(sb, "histogram", h, ""));
+        return sb.toString();
+    }
+
+    private void appendText(StringBuilder sb, String kind, HistogramSnapshot h, String unit) {
+        sb.append(String.format("%-9s %s count=%d min=%d%s mean=%.1f%s max=%d%s",
+                kind, h.getName(), h.getCount(), h.getMin(), unit, h.getMean(), unit, h.getMax(), unit));
+        for (double p : PERCENTILES) {
+            sb.append(String.format(" p%s=%d%s", formatPercentile(p), h.getValueAtPercentile(p), unit));
+        }
+        sb.append(System.lineSeparator());
+    }
+
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{\"timers\":{");
+        appendJson(sb, timers);
+        sb.append("},\"counters\":{");
+        sb.append(counters.entrySet().stream()
+                .map(e -> quote(e.getKey()) + ":" + e.getValue())
+                .collect(Collectors.joining(",")));
+        sb.append("},\"histograms\":{");
+        appendJson(sb, histograms);
+        return sb.append("}}").toString();
+    }
+
+    private void appendJson(StringBuilder sb, Map<String, HistogramSnapshot> map) {
+        sb.append(map.values().stream()
+                .map(h -> {
+                    StringBuilder json = new StringBuilder(quote(h.getName()))
+                            .append(":{\"count\":").append(h.getCount())
+                            .append(",\"min\":").append(h.getMin())
+                            .append(",\"max\":").append(h.getMax())
+                            .append(",\"mean\":").append(h.getMean());
+                    for (double p : PERCENTILES) {
+                        json.append(",\"p").append(formatPercentile(p)).append("\":")
+                                .append(h.getValueAtPercentile(p));
+                    }
+                    return json.append('}').toString();
+                })
+                .collect(Collectors.joining(",")));
+    }
+
+    private static String formatPercentile(double p) {
+        return p == Math.rint(p) ? String.valueOf((long) p) : String.valueOf(p);
+    }
+
+    private static String quote(String s) {
+        return '"' + s.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    @Override
+    public String toString() {
+        return toText();
+    }
+}
@@ -0,0 +1,72 @@
+package metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Records elapsed {@link System#nanoTime()} intervals into a {@link Histogram}.
+ * <p>
+ * For hot paths prefer the allocation-free form:
+ * <pre>
+ *     long start = timer.start();
+ *     try {
+ *         ...
+ *     } finally {
+ *         timer.stop(start);
+ *     }
+ * </pre>
+ * When metrics are disabled {@code start} skips the clock read and {@code stop}
+ * does nothing.
+ */
+public class NanoTimer {
+    private static final long DISABLED = Long.MIN_VALUE;
+
+    private final Histogram histogram;
+
+    NanoTimer(String name) {
+        this.histogram = new Histogram(name);
+    }
+
+    public String getName() {
+        return histogram.getName();
+    }
+
+    public long start() {
+        return Metrics.isEnabled() ? System.nanoTime() : DISABLED;
+    }
+
+    public void stop(long start) {
+        if (start != DISABLED) {
+            histogram.recordValue(Math.max(0, System.nanoTime() - start));
+        }
+    }
+
+    public void record(long elapsedNanos) {
+        histogram.record(elapsedNanos);
+    }
+
+    public <R> R time(Supplier<R> block) {
+        long start = start();
+        try {
+            return block.get();
+        } finally {
+            stop(start);
+        }
+    }
+
+    public void time(Runnable block) {
+        long start = start();
+        try {
+            block.run();
+        } finally {
+            stop(start);
+        }
+    }
+
+    public HistogramSnapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    void reset() {
+        histogram.reset();
+    }
+}
@@ -0,0 +1,12 @@
+package model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/** Writes and reads one record of a {@link RecordGenerator} file. */
+public interface RecordFormat<T> {
+    void write(T record, DataOutput out) throws IOException;
+
+    T read(DataInput in) throws IOException;
+}
@@ -0,0 +1,235 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Deterministic synthetic data, as much of it as you like.
+ * <p>
+ * Record {@code i} is built by the factory from a {@link RecordRandom} seeded with
+ * the generator seed and {@code i}, so the same seed always gives the same records,
+ * in any order, on any number of threads. {@link #stream} is lazy and can run to
+ * billions of records without keeping any of them. Its spliterator splits the index
+ * range, so {@code .parallel()} generates on every core and gets exactly the same
+ * records as the sequential stream.
+ * <pre>
+ *     RecordGenerator&lt;User&gt; users = UserGenerator.users(42);
+ *     long zap = users.stream(1_000_000_000L).parallel()
+ *             .filter(u -&gt; u.getCity().equals("Zap"))
+ *             .count();
+ * </pre>
+ * {@link #write} saves records to a binary file in a given {@link RecordFormat},
+ * encoding chunks in parallel, and {@link #read} streams them back.
+ */
+public final class RecordGenerator<T> {
+    private static final int MAGIC = 0x52454331;  // "REC1"
+    private static final int SPLIT_THRESHOLD = 1 << 10;
+    private static final int WRITE_CHUNK = 1 << 14;
+
+    private final long seed;
+    private final RecordFactory<? extends T> factory;
+
+    /** Builds record {@code index} from {@code random}, which is already seeded for it. */
+    @FunctionalInterface
+    public interface RecordFactory<T> {
+        T create(long index, RecordRandom random);
+    }
+
+    private RecordGenerator(long seed, RecordFactory<? extends T> factory) {
+        this.seed = seed;
+        this.factory = Objects.requireNonNull(factory);
+    }
+
+    public static <T> RecordGenerator<T> of(long seed, RecordFactory<? extends T> factory) {
+        return new RecordGenerator<>(seed, factory);
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /** The same kind of records from a different seed. */
+    public RecordGenerator<T> withSeed(long seed) {
+        return new RecordGenerator<>(seed, factory);
+    }
+
+    /** Record {@code index}, the same one {@link #stream} produces at that position. */
+    public T get(long index) {
+        RecordRandom random = new RecordRandom();
+        random.reset(seed, index);
+        return factory.create(index, random);
+    }
+
+    /** The first {@code count} records; sequential, call {@code parallel()} to split it. */
+    public Stream<T> stream(long count) {
+        return stream(0, count);
+    }
+
+    /** Records {@code from} (inclusive) to {@code to} (exclusive). */
+    public Stream<T> stream(long from, long to) {
+        if (from < 0 || from > to) {
+            throw new IllegalArgumentException("Bad range: " + from + ".." + to);
+        }
+        return StreamSupport.stream(new IndexSpliterator(from, to), false);
+    }
+
+    /** Writes the first {@code count} records to {@code file}, replacing it. */
+    public void write(Path file, long count, RecordFormat<? super T> format) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        int chunksPerBatch = ForkJoinPool.getCommonPoolParallelism() * 4;
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeLong(count);
+            // encode a batch of chunks in parallel, then write them in order
+            for (long start = 0; start < count; start += (long) chunksPerBatch * WRITE_CHUNK) {
+                long batchStart = start;
+                List<byte[]> chunks;
+                try {
+                    chunks = IntStream.range(0, chunksPerBatch)
+                            .mapToLong(c -> batchStart + (long) c * WRITE_CHUNK)
+                            .filter(from -> from < count)
+                            .parallel()
+                            .mapToObj(from -> encode(from, Math.min(from + WRITE_CHUNK, count), format))
+                            .collect(Collectors.toList());
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                for (byte[] chunk : chunks) {
+                    out.write(chunk);
+                }
+            }
+        }
+    }
+
+    private byte[] encode(long from, long to, RecordFormat<? super T> format) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(WRITE_CHUNK * 32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        RecordRandom random = new RecordRandom();
+        try {
+            for (long i = from; i < to; i++) {
+                random.reset(seed, i);
+                format.write(factory.create(i, random), out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Streams the records of a file written by {@link #write}. The stream holds the
+     * file open; close it, e.g. with try-with-resources.
+     */
+    public static <T> Stream<T> read(Path file, RecordFormat<T> format) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+        long count;
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a record file: " + file);
+            }
+            count = in.readLong();
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        Spliterator<T> records = new Spliterators.AbstractSpliterator<>(count,
+                Spliterator.ORDERED | Spliterator.SIZED) {
+            private long remaining = count;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (remaining == 0) {
+                    return false;
+                }
+                try {
+                    action.accept(format.read(in));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                remaining--;
+                return true;
+            }
+        };
+        return StreamSupport.stream(records, false).onClose(() -> {
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Each half of a split gets its own RecordRandom; records depend only on their index
+    private final class IndexSpliterator implements Spliterator<T> {
+        private final RecordRandom random = new RecordRandom();
+        private long from;
+        private final long to;
+
+        IndexSpliterator(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (from >= to) {
+                return false;
+            }
+            long i = from++;
+            random.reset(seed, i);
+            action.accept(factory.create(i, random));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            long end = to;
+            for (long i = from; i < end; i++) {
+                random.reset(seed, i);
+                action.accept(factory.create(i, random));
+            }
+            from = end;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (to - from < SPLIT_THRESHOLD) {
+                return null;
+            }
+            long mid = (from + to) >>> 1;
+            Spliterator<T> prefix = new IndexSpliterator(from, mid);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package model;
+
+/**
+ * The random source a {@link RecordGenerator} hands to its factory.
+ * <p>
+ * It's SplitMix64 (the generator behind {@code SplittableRandom}), reseeded from
+ * the generator seed and the record index before each record. A record therefore
+ * depends only on its index, never on which thread made it or what came before, and
+ * reseeding is two multiplies instead of a new object per record.
+ */
+public final class RecordRandom {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    RecordRandom() {
+    }
+
+    void reset(long seed, long index) {
+        state = mix64(seed ^ mix64(index * GOLDEN_GAMMA + GOLDEN_GAMMA));
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    public long nextLong() {
+        return mix64(state += GOLDEN_GAMMA);
+    }
+
+    /** Uniform in {@code [0, bound)}. */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+        // multiply-shift instead of modulo; the bias is below 2^-32
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /** Uniform in {@code [origin, bound)}. */
+    public int nextInt(int origin, int bound) {
+        if (origin >= bound) {
+            throw new IllegalArgumentException("origin must be below bound: " + origin + ", " + bound);
+        }
+        return origin + nextInt(bound - origin);
+    }
+
+    /** Uniform in {@code [0, 1)}. */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /** {@code true} with the given probability. */
+    public boolean nextBoolean(double probability) {
+        return nextDouble() < probability;
+    }
+
+    public <T> T pick(T[] values) {
+        return values[nextInt(values.length)];
+    }
+
+    /**
+     * Picks with a strong lean towards the front of {@code values}: the first
+     * element comes up far more often than the last, which is how names and
+     * cities repeat in real data.
+     */
+    public <T> T pickSkewed(T[] values) {
+        double u = nextDouble();
+        return values[(int) (u * u * u * values.length)];
+    }
+}
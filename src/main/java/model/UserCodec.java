@@ -0,0 +1,387 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compact binary encoding for {@link User}.
+ * <p>
+ * Users are encoded in blocks. A block starts with its length, its encoding and its
+ * record count, and then holds the records back to back. Each record is
+ * <ul>
+ *     <li>first name: varint byte length + 1 (0 for null), then UTF-8 bytes</li>
+ *     <li>last name: the same, or in a dictionary block a varint table index + 1</li>
+ *     <li>age: zigzag varint, one byte for any real age</li>
+ *     <li>city: like last name</li>
+ * </ul>
+ * A {@link #dictionary()} block puts its distinct last names and cities in a table
+ * after the header. Those columns repeat heavily, so each record stores one or two
+ * bytes for each instead of the text, and decoding shares one String per distinct
+ * value. Blocks are self-contained, so {@link #decode} needs no other state.
+ * <p>
+ * A file is a small header followed by blocks. {@link #read} memory-maps one
+ * block at a time as the stream reaches it, and a parallel stream decodes blocks
+ * on several threads.
+ */
+public final class UserCodec {
+    public static final int DEFAULT_BLOCK_RECORDS = 1 << 16;
+
+    private static final int FILE_MAGIC = 0x55535231;  // "USR1"
+    private static final byte PLAIN = 0;
+    private static final byte DICTIONARY = 1;
+    private static final int BLOCK_HEADER = Integer.BYTES + 1 + Integer.BYTES;
+
+    private final boolean dictionaryEncoded;
+    private final int blockRecords;
+
+    private UserCodec(boolean dictionaryEncoded, int blockRecords) {
+        this.dictionaryEncoded = dictionaryEncoded;
+        this.blockRecords = blockRecords;
+    }
+
+    /** Every string as length-prefixed UTF-8. */
+    public static UserCodec plain() {
+        return new UserCodec(false, DEFAULT_BLOCK_RECORDS);
+    }
+
+    /** Last names and cities as codes into a per-block table. */
+    public static UserCodec dictionary() {
+        return new UserCodec(true, DEFAULT_BLOCK_RECORDS);
+    }
+
+    /** The same encoding, with {@code blockRecords} users per block in files. */
+    public UserCodec withBlockRecords(int blockRecords) {
+        if (blockRecords < 1) {
+            throw new IllegalArgumentException("blockRecords must be positive: " + blockRecords);
+        }
+        return new UserCodec(dictionaryEncoded, blockRecords);
+    }
+
+    public boolean isDictionaryEncoded() {
+        return dictionaryEncoded;
+    }
+
+    /** Encodes {@code users} as one block into a new buffer, ready to read. */
+    public ByteBuffer encode(List<User> users) {
+        Sink sink = new Sink(BLOCK_HEADER + users.size() * 24);
+        encodeBlock(users, sink);
+        return sink.buffer.flip();
+    }
+
+    /**
+     * Encodes {@code users} as one block at {@code out}'s position.
+     *
+     * @throws BufferOverflowException if the block doesn't fit in {@code out}'s remaining space
+     */
+    public void encode(List<User> users, ByteBuffer out) {
+        ByteBuffer block = encode(users);
+        if (block.remaining() > out.remaining()) {
+            throw new BufferOverflowException();
+        }
+        out.put(block);
+    }
+
+    /** Decodes the block at {@code in}'s position, in whichever encoding it was written. */
+    public static List<User> decode(ByteBuffer in) {
+        int start = in.position();
+        int length = in.getInt();
+        byte mode = in.get();
+        int count = in.getInt();
+        if (mode != PLAIN && mode != DICTIONARY || count < 0 || length < BLOCK_HEADER - Integer.BYTES) {
+            throw new IllegalArgumentException("Not a user block at " + start);
+        }
+        Source source = new Source(in);
+        String[] table = null;
+        if (mode == DICTIONARY) {
+            table = new String[source.varint()];
+            for (int i = 0; i < table.length; i++) {
+                table[i] = source.string();
+            }
+        }
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String firstName = source.string();
+            String lastName = table == null ? source.string() : source.code(table);
+            int age = source.zigzag();
+            String city = table == null ? source.string() : source.code(table);
+            users.add(new User(firstName, lastName, age, city));
+        }
+        if (in.position() != start + Integer.BYTES + length) {
+            throw new IllegalArgumentException("Corrupt user block at " + start);
+        }
+        return users;
+    }
+
+    private void encodeBlock(List<User> users, Sink sink) {
+        int start = sink.buffer.position();
+        sink.ensure(BLOCK_HEADER);
+        sink.buffer.putInt(0);  // length, patched below
+        sink.buffer.put(dictionaryEncoded ? DICTIONARY : PLAIN);
+        sink.buffer.putInt(users.size());
+        if (dictionaryEncoded) {
+            // the table has to come first, so encode the records aside while building it
+            Map<String, Integer> codes = new HashMap<>();
+            List<String> table = new ArrayList<>();
+            Sink records = new Sink(users.size() * 12);
+            for (User user : users) {
+                records.string(user.getFirstName());
+                records.code(user.getLastName(), codes, table);
+                records.zigzag(user.getAge());
+                records.code(user.getCity(), codes, table);
+            }
+            sink.varint(table.size());
+            for (String value : table) {
+                sink.string(value);
+            }
+            ByteBuffer encoded = records.buffer.flip();
+            sink.ensure(encoded.remaining());
+            sink.buffer.put(encoded);
+        } else {
+            for (User user : users) {
+                sink.string(user.getFirstName());
+                sink.string(user.getLastName());
+                sink.zigzag(user.getAge());
+                sink.string(user.getCity());
+            }
+        }
+        sink.buffer.putInt(start, sink.buffer.position() - start - Integer.BYTES);
+    }
+
+    /** Writes {@code users} to {@code file} in blocks, replacing it. */
+    public void write(Path file, Stream<User> users) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES).putInt(FILE_MAGIC).flip();
+            writeFully(channel, header);
+            Sink sink = new Sink(BLOCK_HEADER + blockRecords * 24);
+            List<User> batch = new ArrayList<>(blockRecords);
+            Iterator<User> it = users.iterator();
+            while (it.hasNext()) {
+                batch.add(it.next());
+                if (batch.size() == blockRecords || !it.hasNext()) {
+                    sink.buffer.clear();
+                    encodeBlock(batch, sink);
+                    writeFully(channel, sink.buffer.flip());
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Streams the users of a file written by {@link #write}, mapping each block into
+     * memory when the stream gets to it. The stream holds the file open; close it,
+     * e.g. with try-with-resources.
+     */
+    public static Stream<User> read(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long[] offsets = blockOffsets(channel, file);
+            return IntStream.range(0, offsets.length - 1)
+                    .mapToObj(b -> readBlock(channel, offsets[b], offsets[b + 1] - offsets[b]))
+                    .flatMap(List::stream)
+                    .onClose(() -> {
+                        try {
+                            channel.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Number of users in a file, from the block headers alone. */
+    public static long count(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] offsets = blockOffsets(channel, file);
+            long count = 0;
+            ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER);
+            for (int b = 0; b + 1 < offsets.length; b++) {
+                readFully(channel, header.clear(), offsets[b]);
+                count += header.getInt(Integer.BYTES + 1);
+            }
+            return count;
+        }
+    }
+
+    // start of every block, plus the end of the file
+    private static long[] blockOffsets(FileChannel channel, Path file) throws IOException {
+        long size = channel.size();
+        ByteBuffer word = ByteBuffer.allocate(Integer.BYTES);
+        if (size < Integer.BYTES || readFully(channel, word, 0).getInt(0) != FILE_MAGIC) {
+            throw new IOException("Not a user file: " + file);
+        }
+        long[] offsets = new long[16];
+        int blocks = 0;
+        long position = Integer.BYTES;
+        while (position < size) {
+            if (position + BLOCK_HEADER > size) {
+                throw new IOException("Truncated user file: " + file);
+            }
+            if (blocks + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[blocks++] = position;
+            int length = readFully(channel, word.clear(), position).getInt(0);
+            if (length < BLOCK_HEADER - Integer.BYTES) {  // as decode checks; also keeps position moving
+                throw new IOException("Corrupt user file: " + file);
+            }
+            position += Integer.BYTES + length;
+        }
+        if (position != size) {
+            throw new IOException("Truncated user file: " + file);
+        }
+        offsets[blocks] = size;
+        return Arrays.copyOf(offsets, blocks + 1);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        return buffer;
+    }
+
+    private static List<User> readBlock(FileChannel channel, long offset, long length) {
+        try {
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Growable heap buffer with the varint and string writers
+    private static final class Sink {
+        ByteBuffer buffer;
+
+        Sink(int capacity) {
+            buffer = ByteBuffer.allocate(Math.max(capacity, 64));
+        }
+
+        void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+                buffer = ByteBuffer.allocate(capacity).put(buffer.flip());
+            }
+        }
+
+        void varint(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buffer.put((byte) (value & 0x7F | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        void zigzag(int value) {
+            varint(value << 1 ^ value >> 31);
+        }
+
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(UTF_8);
+            varint(bytes.length + 1);
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+
+        void code(String value, Map<String, Integer> codes, List<String> table) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = table.size();
+                table.add(value);
+                codes.put(value, code);
+            }
+            varint(code + 1);
+        }
+    }
+
+    private static final class Source {
+        private final ByteBuffer buffer;
+        private byte[] scratch = new byte[64];
+
+        Source(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int varint() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = buffer.get();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        int zigzag() {
+            int value = varint();
+            return value >>> 1 ^ -(value & 1);
+        }
+
+        String string() {
+            int length = varint() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            if (buffer.hasArray()) {
+                String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, UTF_8);
+                buffer.position(buffer.position() + length);
+                return value;
+            }
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(scratch, 0, length);
+            return new String(scratch, 0, length, UTF_8);
+        }
+
+        String code(String[] table) {
+            int code = varint() - 1;
+            if (code >= table.length) {
+                throw new IllegalArgumentException("Bad dictionary code: " + code);
+            }
+            return code < 0 ? null : table[code];
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Users stored column by column, with every string column dictionary-encoded.
+ * <p>
+ * A {@code List<User>} costs an object per user plus a reference per field. Here
+ * each string column is an {@code int[]} of codes into a table of its distinct values,
+ * and ages are an {@code int[]}, so a user is 16 bytes of arrays however long its
+ * strings are. Last names and cities repeat heavily, which keeps the tables tiny.
+ * <p>
+ * Queries never look at a String per row. {@link #countBy} builds a histogram of
+ * codes, and {@link #rowsWhere} looks the value's code up once and then compares ints.
+ * Both scan chunks in parallel on large tables. Null strings are just another value.
+ * <pre>
+ *     UserColumns columns = UserColumns.of(users);
+ *     Map&lt;String, Long&gt; perCity = columns.countBy(UserColumns.Column.CITY);
+ *     List&lt;User&gt; jetsons = columns.usersWhere(UserColumns.Column.LAST_NAME, "Jetson");
+ * </pre>
+ */
+public final class UserColumns {
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int CHUNK = 1 << 16;
+
+    public enum Column {FIRST_NAME, LAST_NAME, CITY}
+
+    private final int size;
+    private final int[][] codes;  // by Column ordinal
+    private final String[][] dictionaries;
+    private final Map<String, Integer>[] lookups;
+    private final int[] ages;
+
+    private UserColumns(int size, int[][] codes, String[][] dictionaries,
+                        Map<String, Integer>[] lookups, int[] ages) {
+        this.size = size;
+        this.codes = codes;
+        this.dictionaries = dictionaries;
+        this.lookups = lookups;
+        this.ages = ages;
+    }
+
+    public static UserColumns of(List<User> users) {
+        Builder builder = new Builder(users.size());
+        users.forEach(builder::add);
+        return builder.build();
+    }
+
+    public static UserColumns of(Stream<User> users) {
+        Builder builder = new Builder(1 << 10);
+        users.forEachOrdered(builder::add);
+        return builder.build();
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public User get(int row) {
+        checkRow(row);
+        return new User(value(Column.FIRST_NAME, row), value(Column.LAST_NAME, row), ages[row],
+                value(Column.CITY, row));
+    }
+
+    public int age(int row) {
+        checkRow(row);
+        return ages[row];
+    }
+
+    public String value(Column column, int row) {
+        checkRow(row);
+        return dictionaries[column.ordinal()][codes[column.ordinal()][row]];
+    }
+
+    /** Number of distinct values in {@code column}. */
+    public int cardinality(Column column) {
+        return dictionaries[column.ordinal()].length;
+    }
+
+    /** The code for {@code value} in {@code column}, or -1 if no user has it. */
+    public int code(Column column, String value) {
+        Integer code = lookups[column.ordinal()].get(value);
+        return code == null ? -1 : code;
+    }
+
+    /** Users per distinct value, in order of first appearance. */
+    public Map<String, Long> countBy(Column column) {
+        long[] counts = histogram(codes[column.ordinal()], cardinality(column));
+        String[] dictionary = dictionaries[column.ordinal()];
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            result.put(dictionary[code], counts[code]);
+        }
+        return result;
+    }
+
+    /** Average age per distinct value, in order of first appearance. */
+    public Map<String, Double> averageAgeBy(Column column) {
+        int[] columnCodes = codes[column.ordinal()];
+        int cardinality = cardinality(column);
+        int parts = parts();
+        long[][] partials = parts(parts).mapToObj(p -> {
+            long[] sumAndCount = new long[cardinality * 2];
+            for (int row = partStart(p, parts), end = partStart(p + 1, parts); row < end; row++) {
+                int code = columnCodes[row];
+                sumAndCount[code * 2] += ages[row];
+                sumAndCount[code * 2 + 1]++;
+            }
+            return sumAndCount;
+        }).toArray(long[][]::new);
+        String[] dictionary = dictionaries[column.ordinal()];
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int code = 0; code < cardinality; code++) {
+            long sum = 0;
+            long count = 0;
+            for (long[] partial : partials) {
+                sum += partial[code * 2];
+                count += partial[code * 2 + 1];
+            }
+            result.put(dictionary[code], (double) sum / count);
+        }
+        return result;
+    }
+
+    public long count(Column column, String value) {
+        int code = code(column, value);
+        if (code < 0) {
+            return 0;
+        }
+        int[] columnCodes = codes[column.ordinal()];
+        return chunks().mapToLong(c -> countInChunk(columnCodes, code, c)).sum();
+    }
+
+    /** Rows whose {@code column} is {@code value}, in ascending order. */
+    public int[] rowsWhere(Column column, String value) {
+        int code = code(column, value);
+        if (code < 0) {
+            return new int[0];
+        }
+        int[] columnCodes = codes[column.ordinal()];
+        // count per chunk, then fill each chunk's slice of the result
+        int[] counts = chunks().map(c -> countInChunk(columnCodes, code, c)).toArray();
+        int[] starts = new int[counts.length + 1];
+        for (int c = 0; c < counts.length; c++) {
+            starts[c + 1] = starts[c] + counts[c];
+        }
+        int[] rows = new int[starts[counts.length]];
+        chunks().forEach(c -> {
+            int next = starts[c];
+            for (int row = c * CHUNK, end = Math.min(row + CHUNK, size); row < end; row++) {
+                if (columnCodes[row] == code) {
+                    rows[next++] = row;
+                }
+            }
+        });
+        return rows;
+    }
+
+    /** The users whose {@code column} is {@code value}, as a read-only view. */
+    public List<User> usersWhere(Column column, String value) {
+        int[] rows = rowsWhere(column, value);
+        return new UserView(rows);
+    }
+
+    private int countInChunk(int[] columnCodes, int code, int chunk) {
+        int n = 0;
+        for (int row = chunk * CHUNK, end = Math.min(row + CHUNK, size); row < end; row++) {
+            if (columnCodes[row] == code) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    // Scans split into fixed-size chunks
+    private IntStream chunks() {
+        IntStream chunks = IntStream.range(0, (size + CHUNK - 1) / CHUNK);
+        return size >= PARALLEL_THRESHOLD ? chunks.parallel() : chunks;
+    }
+
+    // Group-bys keep a table per part, so they split into a few parts per core instead;
+    // a high-cardinality column would otherwise need a table per chunk
+    private int parts() {
+        return size < PARALLEL_THRESHOLD ? 1 : ForkJoinPool.getCommonPoolParallelism() * 4;
+    }
+
+    private IntStream parts(int parts) {
+        IntStream range = IntStream.range(0, parts);
+        return parts > 1 ? range.parallel() : range;
+    }
+
+    private int partStart(int part, int parts) {
+        return (int) ((long) size * part / parts);
+    }
+
+    private long[] histogram(int[] column, int cardinality) {
+        int parts = parts();
+        int[][] partials = parts(parts).mapToObj(p -> {
+            int[] counts = new int[cardinality];
+            for (int row = partStart(p, parts), end = partStart(p + 1, parts); row < end; row++) {
+                counts[column[row]]++;
+            }
+            return counts;
+        }).toArray(int[][]::new);
+        long[] counts = new long[cardinality];
+        for (int[] partial : partials) {
+            for (int code = 0; code < cardinality; code++) {
+                counts[code] += partial[code];
+            }
+        }
+        return counts;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+        }
+    }
+
+    public static final class Builder {
+        private final Dictionary[] dictionaries = new Dictionary[Column.values().length];
+        private int[][] codes;
+        private int[] ages;
+        private int size;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            codes = new int[dictionaries.length][capacity];
+            ages = new int[capacity];
+            for (int c = 0; c < dictionaries.length; c++) {
+                dictionaries[c] = new Dictionary();
+            }
+        }
+
+        public Builder add(User user) {
+            return add(user.getFirstName(), user.getLastName(), user.getAge(), user.getCity());
+        }
+
+        public Builder add(String firstName, String lastName, int age, String city) {
+            if (size == ages.length) {
+                int capacity = size + (size >> 1);
+                for (int c = 0; c < codes.length; c++) {
+                    codes[c] = Arrays.copyOf(codes[c], capacity);
+                }
+                ages = Arrays.copyOf(ages, capacity);
+            }
+            codes[Column.FIRST_NAME.ordinal()][size] = dictionaries[Column.FIRST_NAME.ordinal()].code(firstName);
+            codes[Column.LAST_NAME.ordinal()][size] = dictionaries[Column.LAST_NAME.ordinal()].code(lastName);
+            codes[Column.CITY.ordinal()][size] = dictionaries[Column.CITY.ordinal()].code(city);
+            ages[size] = age;
+            size++;
+            return this;
+        }
+
+        public UserColumns build() {
+            int[][] trimmed = new int[codes.length][];
+            String[][] values = new String[codes.length][];
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Map<String, Integer>[] lookups = new Map[codes.length];
+            for (int c = 0; c < codes.length; c++) {
+                trimmed[c] = Arrays.copyOf(codes[c], size);
+                values[c] = dictionaries[c].values.toArray(new String[0]);
+                lookups[c] = new HashMap<>(dictionaries[c].codes);
+            }
+            return new UserColumns(size, trimmed, values, lookups, Arrays.copyOf(ages, size));
+        }
+    }
+
+    // value -> code, handing out codes in order of first appearance
+    private static final class Dictionary {
+        final Map<String, Integer> codes = new HashMap<>();
+        final List<String> values = new ArrayList<>();
+
+        int code(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                values.add(value);
+                codes.put(value, code);
+            }
+            return code;
+        }
+    }
+
+    // Read-only users at the given rows, built on access
+    private final class UserView extends AbstractList<User> implements RandomAccess {
+        private final int[] rows;
+
+        UserView(int[] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public User get(int index) {
+            if (index < 0 || index >= rows.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + rows.length);
+            }
+            return UserColumns.this.get(rows[index]);
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+    }
+}
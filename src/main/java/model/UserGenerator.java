@@ -1,15 +1,76 @@
 package model;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class UserGenerator {
+    // the most common names and cities first; pickSkewed favours the front
+    private static final String[] FIRST_NAMES = {
+            "Fred", "Wilma", "Betty", "Barney", "George", "Jane", "Judy", "Elroy", "Patrick",
+            "SpongeBob", "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael",
+            "Linda", "William", "Elizabeth", "David", "Barbara", "Richard", "Susan", "Joseph",
+            "Jessica", "Thomas", "Sarah", "Charles", "Karen", "Daniel", "Nancy", "Matthew", "Lisa",
+            "Anthony", "Carol", "Mark", "Margaret", "Donald", "Sandra", "Steven", "Ashley", "Paul",
+            "Kimberly", "Andrew", "Emily", "Joshua", "Donna", "Kenneth", "Michelle"
+    };
+    private static final String[] LAST_NAMES = {
+            "Jetson", "Flintstone", "Rubble", "Smith", "Johnson", "Williams", "Brown", "Jones",
+            "Garcia", "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez",
+            "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Perez",
+            "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill",
+            "Flores", "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Star",
+            "Squarepants", "Spacely", "Cogswell", "Slate", "Tentacles", "Krabs", "Cheeks"
+    };
+    private static final String[] CITIES = {
+            "Zap", "Bedrock", "Bikini Bottom", "Sturgis", "Rapid City", "Springfield", "Orbit City",
+            "Shelbyville", "Gotham", "Metropolis", "Smallville", "Riverdale", "Hill Valley",
+            "Twin Peaks", "Sunnydale", "Quahog", "Pawnee", "Scranton", "Hawkins", "Stars Hollow"
+    };
+
+    /** Format for {@link RecordGenerator#write}: three modified-UTF-8 strings and the age. */
+    public static final RecordFormat<User> FORMAT = new RecordFormat<>() {
+        @Override
+        public void write(User user, DataOutput out) throws IOException {
+            out.writeUTF(user.getFirstName());
+            out.writeUTF(user.getLastName());
+            out.writeInt(user.getAge());
+            out.writeUTF(user.getCity());
+        }
+
+        @Override
+        public User read(DataInput in) throws IOException {
+            return new User(in.readUTF(), in.readUTF(), in.readInt(), in.readUTF());
+        }
+    };
+
+    /** Any number of users, the same ones every time for the same seed. */
+    public static RecordGenerator<User> users(long seed) {
+        return RecordGenerator.of(seed, (index, random) -> User.builder()
+                .firstName(random.pickSkewed(FIRST_NAMES))
+                .lastName(random.pickSkewed(LAST_NAMES))
+                .age(random.nextInt(1, 91))
+                .city(random.pickSkewed(CITIES))
+                .build());
+    }
+
+    /**
+     * Create a list of {@code count} generated users.
+     * @return List of User objects
+     */
+    public static List<User> createUsers(int count, long seed) {
+        return users(seed).stream(count).parallel().collect(Collectors.toList());
+    }
 
     /**
      * Create an unmodifiable list of Flintstones and Jetsons.
      * @return unmodifiable List of User objects
      */
     public static List<User> createUsers() {
-        // it would be nice to use something to generate dummy data
+        // for more, see users(seed)
         return List.of(
             User.builder()
                 .age(36)
@@ -0,0 +1,241 @@
+package objects;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * A fixed-size list that keeps a bitmap of which of its elements are non-null.
+ * <p>
+ * Filtering nulls with a stream copies every survivor into a new list, even when the
+ * caller only wants to count or walk them. Here the bitmap is built once, one bit per
+ * element, so {@link #nonNullCount} is a field read and {@link #nonNulls} is a view
+ * that skips nulls a word at a time without copying anything. When a real copy is
+ * needed, {@link #compact} counts each segment's bits, takes a prefix sum for the
+ * segment offsets and copies the segments in parallel.
+ * <pre>
+ *     NullBitmapList&lt;String&gt; names = NullBitmapList.copyOf(rawNames);
+ *     int present = names.nonNullCount();
+ *     names.nonNulls().forEach(System.out::println);
+ * </pre>
+ * {@link #set} keeps the bitmap up to date, and the view reads through to this list.
+ */
+public final class NullBitmapList<T> extends AbstractList<T> implements RandomAccess {
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int SEGMENT_WORDS = 1 << 8;  // 16K elements
+
+    private final Object[] elements;
+    private final long[] nonNull;
+    private int nonNullCount;
+    private int[] ranks;  // non-nulls before each word, built on demand; null when stale
+
+    private NullBitmapList(Object[] elements) {
+        this.elements = elements;
+        this.nonNull = new long[(elements.length + 63) >>> 6];
+        this.nonNullCount = mark();
+    }
+
+    /** A list holding the elements of {@code source}, in its iteration order. */
+    public static <T> NullBitmapList<T> copyOf(Collection<? extends T> source) {
+        return new NullBitmapList<>(source.toArray());
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index, elements.length);
+        return (T) elements[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(int index, T element) {
+        checkIndex(index, elements.length);
+        T previous = (T) elements[index];
+        elements[index] = element;
+        if ((previous == null) != (element == null)) {
+            nonNull[index >>> 6] ^= 1L << index;
+            nonNullCount += element == null ? -1 : 1;
+            ranks = null;
+        }
+        return previous;
+    }
+
+    public boolean isNull(int index) {
+        checkIndex(index, elements.length);
+        return (nonNull[index >>> 6] & (1L << index)) == 0;
+    }
+
+    public int nonNullCount() {
+        return nonNullCount;
+    }
+
+    public int nullCount() {
+        return elements.length - nonNullCount;
+    }
+
+    /**
+     * The non-null elements as a read-only view, in order. Iterating it costs one step
+     * per non-null plus one per 64 elements; {@code get} is a binary search.
+     */
+    public List<T> nonNulls() {
+        return new NonNullView();
+    }
+
+    /** Copies the non-null elements, in order, into a new fixed-size list. */
+    @SuppressWarnings("unchecked")
+    public List<T> compact() {
+        Object[] result = new Object[nonNullCount];
+        if (nonNullCount == elements.length) {
+            System.arraycopy(elements, 0, result, 0, result.length);
+        } else if (nonNullCount > 0) {
+            int[] counts = segments().map(this::countInSegment).toArray();
+            int[] starts = new int[counts.length + 1];
+            for (int s = 0; s < counts.length; s++) {
+                starts[s + 1] = starts[s] + counts[s];
+            }
+            segments().forEach(s -> {
+                int next = starts[s];
+                for (int w = s * SEGMENT_WORDS, end = Math.min(w + SEGMENT_WORDS, nonNull.length); w < end; w++) {
+                    for (long word = nonNull[w]; word != 0; word &= word - 1) {
+                        result[next++] = elements[(w << 6) + Long.numberOfTrailingZeros(word)];
+                    }
+                }
+            });
+        }
+        return (List<T>) Arrays.asList(result);
+    }
+
+    // Builds the bitmap one segment per task; each word has a single writer
+    private int mark() {
+        int n = elements.length;
+        return segments().map(s -> {
+            int count = 0;
+            for (int w = s * SEGMENT_WORDS, end = Math.min(w + SEGMENT_WORDS, nonNull.length); w < end; w++) {
+                long word = 0;
+                for (int i = w << 6, last = Math.min(i + 64, n); i < last; i++) {
+                    word |= (elements[i] != null ? 1L : 0L) << i;  // no branch to mispredict
+                }
+                nonNull[w] = word;
+                count += Long.bitCount(word);
+            }
+            return count;
+        }).sum();
+    }
+
+    private int countInSegment(int segment) {
+        int count = 0;
+        for (int w = segment * SEGMENT_WORDS, end = Math.min(w + SEGMENT_WORDS, nonNull.length); w < end; w++) {
+            count += Long.bitCount(nonNull[w]);
+        }
+        return count;
+    }
+
+    private IntStream segments() {
+        IntStream segments = IntStream.range(0, (nonNull.length + SEGMENT_WORDS - 1) / SEGMENT_WORDS);
+        return elements.length >= PARALLEL_THRESHOLD ? segments.parallel() : segments;
+    }
+
+    private int[] ranks() {
+        if (ranks == null) {
+            int[] built = new int[nonNull.length + 1];
+            for (int w = 0; w < nonNull.length; w++) {
+                built[w + 1] = built[w] + Long.bitCount(nonNull[w]);
+            }
+            ranks = built;
+        }
+        return ranks;
+    }
+
+    // Index of the k-th non-null element
+    private int select(int k) {
+        int[] before = ranks();
+        int low = 0;
+        int high = nonNull.length - 1;
+        while (low < high) {  // last word with before[w] <= k
+            int mid = (low + high + 1) >>> 1;
+            if (before[mid] <= k) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        long word = nonNull[low];
+        for (int skip = k - before[low]; skip > 0; skip--) {
+            word &= word - 1;
+        }
+        return (low << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private final class NonNullView extends AbstractList<T> implements RandomAccess {
+        @Override
+        public int size() {
+            return nonNullCount;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            checkIndex(index, nonNullCount);
+            return (T) elements[select(index)];
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private int w = -1;
+                private long word;
+
+                @Override
+                public boolean hasNext() {
+                    while (word == 0) {
+                        if (++w >= nonNull.length) {
+                            w = nonNull.length;
+                            return false;
+                        }
+                        word = nonNull[w];
+                    }
+                    return true;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int index = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    return (T) elements[index];
+                }
+            };
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(Consumer<? super T> action) {
+            for (int w = 0; w < nonNull.length; w++) {
+                for (long word = nonNull[w]; word != 0; word &= word - 1) {
+                    action.accept((T) elements[(w << 6) + Long.numberOfTrailingZeros(word)]);
+                }
+            }
+        }
+    }
+}
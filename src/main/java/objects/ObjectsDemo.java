@@ -27,4 +27,18 @@ public class ObjectsDemo {
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
+
+    // For very large lists: copies the list once to build a null bitmap, then
+    // compacts in parallel. Returns a fixed-size list. Slower than the stream
+    // above for small lists.
+    public <T> List<T> getNonNullElementsCompacted(List<T> list) {
+        return NullBitmapList.copyOf(list).compact();
+    }
+
+    // Not copy-free: NullBitmapList.copyOf copies the entire list first. The view
+    // then reads the non-nulls from that copy without copying them again, and its
+    // size is known without a scan
+    public <T> List<T> getNonNullView(List<T> list) {
+        return NullBitmapList.copyOf(list).nonNulls();
+    }
 }
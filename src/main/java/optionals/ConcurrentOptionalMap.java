@@ -0,0 +1,86 @@
+package optionals;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe {@link OptionalMap} for read-mostly data such as configuration.
+ * <p>
+ * Readers see an immutable snapshot held in a volatile field, so {@code get} is a
+ * single volatile read plus a hash lookup: wait-free and never blocked by writers.
+ * Writers copy the current snapshot, apply their changes and publish the copy
+ * (copy-on-write). Each write costs O(n), so group changes with {@link #putAll}
+ * or {@link #update} instead of calling {@link #put} in a loop.
+ */
+public class ConcurrentOptionalMap<K, V> {
+    private volatile Map<K, V> snapshot = Collections.emptyMap();
+    private final Object writeLock = new Object();
+
+    /**
+     * An immutable, consistent view of the map at this moment. It is safe to
+     * iterate or share across threads and never changes afterwards.
+     */
+    public Map<K, V> getMap() {
+        return snapshot;
+    }
+
+    public Optional<V> get(K key) {
+        return Optional.ofNullable(snapshot.get(key));
+    }
+
+    public V getOrDefault(K key, V defaultValue) {
+        V value = snapshot.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public boolean ifPresent(K key, Consumer<? super V> action) {
+        V value = snapshot.get(key);
+        if (value == null) {
+            return false;
+        }
+        action.accept(value);
+        return true;
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    public void put(K key, V value) {
+        write(map -> map.put(key, value));
+    }
+
+    public void putAll(Map<? extends K, ? extends V> entries) {
+        write(map -> map.putAll(entries));
+    }
+
+    public void remove(K key) {
+        write(map -> map.remove(key));
+    }
+
+    /**
+     * Applies a batch of changes to a scratch copy and publishes the result in one step.
+     * Readers see either none or all of the batch. The map handed to {@code batch} is
+     * only valid during the call: what gets published is a copy of it, so a reference
+     * kept afterwards cannot change any snapshot.
+     */
+    public void update(Consumer<? super Map<K, V>> batch) {
+        synchronized (writeLock) {
+            Map<K, V> scratch = new HashMap<>(snapshot);
+            batch.accept(scratch);
+            snapshot = Collections.unmodifiableMap(new HashMap<>(scratch));
+        }
+    }
+
+    // For our own changes, which never let the copy escape, so it can be published as is
+    private void write(Consumer<Map<K, V>> change) {
+        synchronized (writeLock) {
+            Map<K, V> copy = new HashMap<>(snapshot);
+            change.accept(copy);
+            snapshot = Collections.unmodifiableMap(copy);
+        }
+    }
+}
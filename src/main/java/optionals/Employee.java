@@ -3,13 +3,24 @@ package optionals;
 public class Employee {
     private final int id;
     private String name;
-    private static int nextId;
+    // Thread-safe without making every constructor contend on one counter
+    private static final IdAllocator ids = new IdAllocator();
 
     public Employee(String name) {
-        id = nextId++;
+        id = ids.nextId();
         this.name = name;
     }
 
+    private Employee(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    // Same id, new name; HR renames by swapping in a copy, so nobody sees a name change
+    Employee withName(String name) {
+        return new Employee(id, name);
+    }
+
     public int getId() {
         return id;
     }
@@ -23,11 +34,11 @@ public class Employee {
     }
 
     public static int getNextId() {
-        return nextId;
+        return ids.peekNextId();
     }
 
     public static void setNextId(int nextId) {
-        Employee.nextId = nextId;
+        ids.reset(nextId);
     }
 
     @Override
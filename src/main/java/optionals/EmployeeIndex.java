@@ -0,0 +1,170 @@
+package optionals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Secondary indexes over employees: by name (prefix and range queries) and by id
+ * (range queries), kept in concurrent skip lists.
+ * <p>
+ * This class only indexes; the owner keeps the employees themselves and must not
+ * call {@link #add} or {@link #remove} concurrently for the same id (HR holds a per-id
+ * lock stripe around the primary map and index update). Updates to different ids run
+ * in parallel: they share a gate and only count themselves in and out.
+ * <p>
+ * Each query returns a consistent snapshot. It runs optimistically, then checks that
+ * no update was in progress or started meanwhile, and retries if one was. After a few
+ * failed tries it takes the gate exclusively, which waits for running updates and holds
+ * off new ones for the length of the query. Indexed employees are never changed in
+ * place; a rename indexes a renamed copy in one update.
+ */
+public class EmployeeIndex {
+    private static final Comparator<NameKey> NAME_ORDER =
+            Comparator.comparing((NameKey k) -> k.name, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparingInt(k -> k.id);
+    private static final int OPTIMISTIC_ATTEMPTS = 4;
+
+    private final ConcurrentNavigableMap<NameKey, Employee> byName = new ConcurrentSkipListMap<>(NAME_ORDER);
+    private final ConcurrentNavigableMap<Integer, NameKey> byId = new ConcurrentSkipListMap<>();
+
+    // updates hold the gate shared; a query that keeps losing races holds it exclusively
+    private final StampedLock gate = new StampedLock();
+    private final AtomicLong updatesStarted = new AtomicLong();
+    private final AtomicLong updatesFinished = new AtomicLong();
+
+    // Names are not unique, so the id breaks ties. byId keeps each id's key, so an
+    // entry can be removed knowing only the id.
+    private static final class NameKey {
+        private final String name;
+        private final int id;
+
+        NameKey(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+    }
+
+    /**
+     * Indexes {@code employee}, replacing whatever was indexed under its id.
+     */
+    public void add(Employee employee) {
+        update(() -> {
+            removeEntries(employee.getId());
+            NameKey key = new NameKey(employee.getName(), employee.getId());
+            byName.put(key, employee);
+            byId.put(employee.getId(), key);
+        });
+    }
+
+    /**
+     * Removes whatever is indexed under {@code id}.
+     */
+    public void remove(int id) {
+        update(() -> removeEntries(id));
+    }
+
+    public void clear() {
+        update(() -> {
+            byId.clear();
+            byName.clear();
+        });
+    }
+
+    private void removeEntries(int id) {
+        NameKey key = byId.remove(id);
+        if (key != null) {
+            byName.remove(key);
+        }
+    }
+
+    private void update(Runnable change) {
+        long stamp = gate.readLock();
+        updatesStarted.incrementAndGet();
+        try {
+            change.run();
+        } finally {
+            updatesFinished.incrementAndGet();
+            gate.unlockRead(stamp);
+        }
+    }
+
+    private <R> R query(Supplier<R> query) {
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            // finished first: if it then equals started, nothing was in progress
+            long finished = updatesFinished.get();
+            long started = updatesStarted.get();
+            if (started == finished) {
+                R result = query.get();
+                if (updatesStarted.get() == started) {
+                    return result;
+                }
+            }
+            Thread.onSpinWait();
+        }
+        long stamp = gate.writeLock();
+        try {
+            return query.get();
+        } finally {
+            gate.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Employees whose name starts with {@code prefix}, in name order.
+     */
+    public List<Employee> findByNamePrefix(String prefix) {
+        Objects.requireNonNull(prefix);
+        return query(() -> {
+            List<Employee> result = new ArrayList<>();
+            for (Map.Entry<NameKey, Employee> entry :
+                    byName.tailMap(new NameKey(prefix, Integer.MIN_VALUE), true).entrySet()) {
+                String name = entry.getKey().name;
+                if (name == null || !name.startsWith(prefix)) {
+                    break;
+                }
+                result.add(entry.getValue());
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Employees with {@code from <= name < to}, in name order.
+     */
+    public List<Employee> findByNameRange(String from, String to) {
+        return query(() -> new ArrayList<>(byName.subMap(
+                new NameKey(from, Integer.MIN_VALUE), true,
+                new NameKey(to, Integer.MIN_VALUE), false).values()));
+    }
+
+    /**
+     * Employees with {@code fromInclusive <= id < toExclusive}, in id order.
+     */
+    public List<Employee> findByIdRange(int fromInclusive, int toExclusive) {
+        if (fromInclusive >= toExclusive) {
+            return new ArrayList<>();
+        }
+        return query(() -> {
+            List<Employee> result = new ArrayList<>();
+            for (NameKey key : byId.subMap(fromInclusive, true, toExclusive, false).values()) {
+                Employee employee = byName.get(key);
+                if (employee != null) {  // only during an optimistic try that will be retried
+                    result.add(employee);
+                }
+            }
+            return result;
+        });
+    }
+
+    public int size() {
+        return byId.size();
+    }
+}
@@ -1,21 +1,32 @@
 package optionals;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @SuppressWarnings({"UnusedReturnValue", "unused"})
 public class HR {
     private static final HR INSTANCE = new HR();
+    private static final int LOCK_STRIPES = 64;
 
-    private final Map<Integer, Employee> employeeMap = new ConcurrentHashMap<>();
+    private final StripedIntMap<Employee> employeeMap = new StripedIntMap<>();
+    private final EmployeeIndex index = new EmployeeIndex();
+    // Writers for the same id update the map and the index under one stripe, so they
+    // never interleave; writers for different ids and all readers proceed in parallel
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
 
-    private HR() {}
+    private HR() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
 
     public static HR getInstance() {
         return INSTANCE;
@@ -23,33 +34,141 @@ public class HR {
 
     public int hire(Employee e) {
         Objects.requireNonNull(e);
-        employeeMap.put(e.getId(), e);
+        put(e);
         return employeeMap.containsKey(e.getId()) ? 1 : 0;
     }
 
+    // No intermediate map; returns the number of new hires. Like the Collectors.toMap
+    // it replaced, rejects duplicate ids in the batch before hiring anyone.
     public int hire(List<Employee> emps) {
-        int before = employeeMap.size();
-        Map<Integer, Employee> newEmps = emps.stream()
-                .collect(Collectors.toMap(Employee::getId, Function.identity()));
-        employeeMap.putAll(newEmps);
-        return employeeMap.size() - before;
+        Set<Integer> ids = new HashSet<>();
+        for (Employee e : emps) {
+            if (!ids.add(e.getId())) {
+                throw new IllegalStateException("Duplicate key " + e.getId());
+            }
+        }
+        int hired = 0;
+        for (Employee e : emps) {
+            if (put(e) == null) {
+                hired++;
+            }
+        }
+        return hired;
     }
 
-
     public int fire(int id) {
-        Employee emp = employeeMap.remove(id);
-        return emp != null ? 1 : 0;
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Employee emp = employeeMap.remove(id);
+            if (emp != null) {
+                index.remove(id);
+            }
+            return emp != null ? 1 : 0;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public int reset() {
-        employeeMap.clear();
+    public int fire(int... ids) {
+        int fired = 0;
+        for (int id : ids) {
+            fired += fire(id);
+        }
+        return fired;
+    }
+
+    public int size() {
         return employeeMap.size();
     }
 
+    // Use this rather than Employee.setName so the name index stays in order.
+    // Employees already handed out keep their old name; look the id up again.
+    public int rename(int id, String newName) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Employee emp = employeeMap.get(id);
+            if (emp == null) {
+                return 0;
+            }
+            // swap in a renamed copy; anyone holding emp keeps a stable name
+            Employee renamed = emp.withName(newName);
+            employeeMap.put(id, renamed);
+            index.add(renamed);
+            return 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int reset() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            employeeMap.clear();
+            index.clear();
+            return employeeMap.size();
+        } finally {
+            for (ReentrantLock lock : locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Stores e and indexes it; returns the employee it replaced, or null
+    private Employee put(Employee e) {
+        ReentrantLock lock = lockFor(e.getId());
+        lock.lock();
+        try {
+            Employee previous = employeeMap.put(e.getId(), e);
+            index.add(e);
+            return previous;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(int id) {
+        return locks[OpenAddressing.hash(id) & (LOCK_STRIPES - 1)];
+    }
+
     public Optional<Employee> findEmployeeById(int id) {
         return Optional.ofNullable(employeeMap.get(id));
     }
 
+    // Batch lookup without an Optional per id; missing ids are skipped
+    public List<Employee> findEmployeesByIds(int... ids) {
+        List<Employee> found = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Employee emp = employeeMap.get(id);
+            if (emp != null) {
+                found.add(emp);
+            }
+        }
+        return found;
+    }
+
+    public List<Employee> findEmployeesByNamePrefix(String prefix) {
+        return index.findByNamePrefix(prefix);
+    }
+
+    public List<Employee> findEmployeesByNameRange(String from, String to) {
+        return index.findByNameRange(from, to);
+    }
+
+    public List<Employee> findEmployeesByIdRange(int fromInclusive, int toExclusive) {
+        return index.findByIdRange(fromInclusive, toExclusive);
+    }
+
+    // Full scan, for queries no index covers
+    public List<Employee> findEmployees(Predicate<? super Employee> predicate) {
+        return employeeMap.values().stream()
+                .filter(predicate)
+                .collect(Collectors.toList());
+    }
+
     // Check the Optional content before extracting values
     public List<Employee> findEmployeesByIds1(List<Integer> ids) {
         return ids.stream()
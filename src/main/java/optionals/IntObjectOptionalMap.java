@@ -0,0 +1,109 @@
+package optionals;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * {@link OptionalMap} specialized for {@code int} keys, on an open-addressing table.
+ * <p>
+ * {@link #getOrDefault} and {@link #ifPresent} neither box the key nor allocate an
+ * {@code Optional}; {@link #get} keeps the Optional API for callers that want it.
+ */
+public class IntObjectOptionalMap<V> {
+    private int[] keys;
+    private Object[] values;
+    private boolean[] used;
+    private int size;
+
+    public IntObjectOptionalMap() {
+        this(16);
+    }
+
+    public IntObjectOptionalMap(int expectedSize) {
+        int capacity = OpenAddressing.capacityFor(expectedSize);
+        keys = new int[capacity];
+        values = new Object[capacity];
+        used = new boolean[capacity];
+    }
+
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int i = OpenAddressing.hash(key) & mask;
+        while (used[i]) {
+            if (keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    public void put(int key, V value) {
+        int mask = keys.length - 1;
+        int i = OpenAddressing.hash(key) & mask;
+        while (used[i]) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        used[i] = true;
+        if (++size > OpenAddressing.maxFill(keys.length)) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new int[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldUsed[j]) {
+                int i = OpenAddressing.hash(oldKeys[j]) & mask;
+                while (used[i]) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+                used[i] = true;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<V> get(int key) {
+        int i = indexOf(key);
+        return i < 0 ? Optional.empty() : Optional.ofNullable((V) values[i]);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(int key, V defaultValue) {
+        int i = indexOf(key);
+        return i < 0 || values[i] == null ? defaultValue : (V) values[i];
+    }
+
+    @SuppressWarnings("unchecked")
+    public boolean ifPresent(int key, Consumer<? super V> action) {
+        int i = indexOf(key);
+        if (i < 0 || values[i] == null) {
+            return false;
+        }
+        action.accept((V) values[i]);
+        return true;
+    }
+
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
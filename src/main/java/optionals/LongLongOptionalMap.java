@@ -0,0 +1,104 @@
+package optionals;
+
+import java.util.OptionalLong;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link OptionalMap} specialized for {@code long} keys and values, on an
+ * open-addressing table. Nothing is boxed on any path.
+ */
+public class LongLongOptionalMap {
+    private long[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int size;
+
+    public LongLongOptionalMap() {
+        this(16);
+    }
+
+    public LongLongOptionalMap(int expectedSize) {
+        int capacity = OpenAddressing.capacityFor(expectedSize);
+        keys = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+    }
+
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int i = OpenAddressing.hash(key) & mask;
+        while (used[i]) {
+            if (keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    public void put(long key, long value) {
+        int mask = keys.length - 1;
+        int i = OpenAddressing.hash(key) & mask;
+        while (used[i]) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        used[i] = true;
+        if (++size > OpenAddressing.maxFill(keys.length)) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldUsed[j]) {
+                int i = OpenAddressing.hash(oldKeys[j]) & mask;
+                while (used[i]) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+                used[i] = true;
+            }
+        }
+    }
+
+    public OptionalLong get(long key) {
+        int i = indexOf(key);
+        return i < 0 ? OptionalLong.empty() : OptionalLong.of(values[i]);
+    }
+
+    public long getOrDefault(long key, long defaultValue) {
+        int i = indexOf(key);
+        return i < 0 ? defaultValue : values[i];
+    }
+
+    public boolean ifPresent(long key, LongConsumer action) {
+        int i = indexOf(key);
+        if (i < 0) {
+            return false;
+        }
+        action.accept(values[i]);
+        return true;
+    }
+
+    public boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
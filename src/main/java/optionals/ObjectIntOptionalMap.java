@@ -0,0 +1,102 @@
+package optionals;
+
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+
+/**
+ * {@link OptionalMap} specialized for {@code int} values, on an open-addressing
+ * table. Values are never boxed; keys must not be null.
+ */
+public class ObjectIntOptionalMap<K> {
+    private Object[] keys;
+    private int[] values;
+    private int size;
+
+    public ObjectIntOptionalMap() {
+        this(16);
+    }
+
+    public ObjectIntOptionalMap(int expectedSize) {
+        int capacity = OpenAddressing.capacityFor(expectedSize);
+        keys = new Object[capacity];
+        values = new int[capacity];
+    }
+
+    private int indexOf(Object key) {
+        int mask = keys.length - 1;
+        int i = OpenAddressing.hash(key) & mask;
+        Object k;
+        while ((k = keys[i]) != null) {
+            if (k == key || k.equals(key)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    public void put(K key, int value) {
+        Objects.requireNonNull(key);
+        int mask = keys.length - 1;
+        int i = OpenAddressing.hash(key) & mask;
+        Object k;
+        while ((k = keys[i]) != null) {
+            if (k == key || k.equals(key)) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > OpenAddressing.maxFill(keys.length)) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        Object[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new Object[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != null) {
+                int i = OpenAddressing.hash(oldKeys[j]) & mask;
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    public OptionalInt get(K key) {
+        int i = indexOf(Objects.requireNonNull(key));
+        return i < 0 ? OptionalInt.empty() : OptionalInt.of(values[i]);
+    }
+
+    public int getOrDefault(K key, int defaultValue) {
+        int i = indexOf(Objects.requireNonNull(key));
+        return i < 0 ? defaultValue : values[i];
+    }
+
+    public boolean ifPresent(K key, IntConsumer action) {
+        int i = indexOf(Objects.requireNonNull(key));
+        if (i < 0) {
+            return false;
+        }
+        action.accept(values[i]);
+        return true;
+    }
+
+    public boolean containsKey(K key) {
+        return indexOf(Objects.requireNonNull(key)) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
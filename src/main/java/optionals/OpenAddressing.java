@@ -0,0 +1,33 @@
+package optionals;
+
+// Shared sizing and hashing for the linear-probing tables in this package
+final class OpenAddressing {
+    private OpenAddressing() {}
+
+    static int capacityFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+        }
+        int needed = Math.max(16, expectedSize + expectedSize / 3 + 1);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    // Resize when the table is more than 3/4 full
+    static int maxFill(int capacity) {
+        return capacity - (capacity >>> 2);
+    }
+
+    static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    static int hash(Object key) {
+        return hash(key.hashCode());
+    }
+}
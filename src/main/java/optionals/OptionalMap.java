@@ -3,6 +3,7 @@ package optionals;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class OptionalMap<K,V> {
     private final Map<K,V> map = new HashMap<>();
@@ -18,4 +19,19 @@ public class OptionalMap<K,V> {
     public Optional<V> get(K key) {
         return Optional.ofNullable(map.get(key));
     }
+
+    // Same lookups without allocating an Optional
+    public V getOrDefault(K key, V defaultValue) {
+        V value = map.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public boolean ifPresent(K key, Consumer<? super V> action) {
+        V value = map.get(key);
+        if (value == null) {
+            return false;
+        }
+        action.accept(value);
+        return true;
+    }
 }
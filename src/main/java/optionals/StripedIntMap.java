@@ -0,0 +1,295 @@
+package optionals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent map from primitive {@code int} keys to non-null values.
+ * <p>
+ * Keys are never boxed. The table is split into lock stripes, each an open-addressing
+ * (linear probing) table guarded by a {@link StampedLock}. Reads are optimistic and
+ * only fall back to a read lock if a writer touched the same stripe meanwhile, so
+ * lookups never block each other and rarely block on writers.
+ */
+public class StripedIntMap<V> {
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final Stripe<V>[] stripes;
+    private final int stripeShift;
+
+    public StripedIntMap() {
+        this(0);
+    }
+
+    public StripedIntMap(int expectedSize) {
+        this(expectedSize, DEFAULT_STRIPES);
+    }
+
+    public StripedIntMap(int expectedSize, int stripeCount) {
+        if (expectedSize < 0 || stripeCount < 1) {
+            throw new IllegalArgumentException("expectedSize=" + expectedSize + ", stripeCount=" + stripeCount);
+        }
+        int count = Integer.highestOneBit(Math.min(stripeCount, 1 << 16) * 2 - 1);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Stripe<V>[] created = new Stripe[count];
+        stripes = created;
+        stripeShift = 32 - Integer.numberOfTrailingZeros(count);
+        int perStripe = OpenAddressing.capacityFor(expectedSize / count);
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>(perStripe);
+        }
+    }
+
+    private Stripe<V> stripeFor(int hash) {
+        // high bits pick the stripe, low bits pick the slot within it
+        return stripes[stripeShift == 32 ? 0 : hash >>> stripeShift];
+    }
+
+    public V get(int key) {
+        int h = OpenAddressing.hash(key);
+        return stripeFor(h).get(key, h);
+    }
+
+    public V getOrDefault(int key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return the previous value for {@code key}, or null if there was none
+     */
+    public V put(int key, V value) {
+        Objects.requireNonNull(value);
+        int h = OpenAddressing.hash(key);
+        return stripeFor(h).put(key, h, value);
+    }
+
+    public V putIfAbsent(int key, V value) {
+        Objects.requireNonNull(value);
+        int h = OpenAddressing.hash(key);
+        return stripeFor(h).putIfAbsent(key, h, value);
+    }
+
+    /**
+     * @return the removed value, or null if {@code key} was not present
+     */
+    public V remove(int key) {
+        int h = OpenAddressing.hash(key);
+        return stripeFor(h).remove(key, h);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe<V> stripe : stripes) {
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        for (Stripe<V> stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    /**
+     * Visits every value. Each stripe is read under its read lock, so the view is
+     * consistent per stripe but not across the whole map.
+     */
+    public void forEachValue(Consumer<? super V> action) {
+        for (Stripe<V> stripe : stripes) {
+            stripe.forEachValue(action);
+        }
+    }
+
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size());
+        forEachValue(values::add);
+        return values;
+    }
+
+    private static final class Stripe<V> {
+        private final StampedLock lock = new StampedLock();
+        private int[] keys;
+        private Object[] values;
+        private volatile int size;
+
+        Stripe(int capacity) {
+            keys = new int[capacity];
+            values = new Object[capacity];
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(int key, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                Object value = probe(keys, values, key, hash);
+                if (lock.validate(stamp)) {
+                    return (V) value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return (V) probe(keys, values, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        // Safe to run against a torn table: bounded by the array length it was handed
+        private static Object probe(int[] keys, Object[] values, int key, int hash) {
+            int mask = values.length - 1;
+            if (keys.length != values.length) {
+                return null;
+            }
+            for (int i = hash & mask, n = 0; n <= mask; i = (i + 1) & mask, n++) {
+                Object value = values[i];
+                if (value == null) {
+                    return null;
+                }
+                if (keys[i] == key) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        V put(int key, int hash, V value) {
+            long stamp = lock.writeLock();
+            try {
+                return insert(key, hash, value, true);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        V putIfAbsent(int key, int hash, V value) {
+            long stamp = lock.writeLock();
+            try {
+                return insert(key, hash, value, false);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private V insert(int key, int hash, V value, boolean replace) {
+            int mask = values.length - 1;
+            int i = hash & mask;
+            while (values[i] != null) {
+                if (keys[i] == key) {
+                    V old = (V) values[i];
+                    if (replace) {
+                        values[i] = value;
+                    }
+                    return old;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            size = size + 1;
+            if (size > OpenAddressing.maxFill(values.length)) {
+                resize();
+            }
+            return null;
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            Object[] oldValues = values;
+            int[] newKeys = new int[oldValues.length * 2];
+            Object[] newValues = new Object[oldValues.length * 2];
+            int mask = newValues.length - 1;
+            for (int j = 0; j < oldValues.length; j++) {
+                if (oldValues[j] != null) {
+                    int i = OpenAddressing.hash(oldKeys[j]) & mask;
+                    while (newValues[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    newKeys[i] = oldKeys[j];
+                    newValues[i] = oldValues[j];
+                }
+            }
+            keys = newKeys;
+            values = newValues;
+        }
+
+        @SuppressWarnings("unchecked")
+        V remove(int key, int hash) {
+            long stamp = lock.writeLock();
+            try {
+                int mask = values.length - 1;
+                int i = hash & mask;
+                while (values[i] != null) {
+                    if (keys[i] == key) {
+                        V old = (V) values[i];
+                        deleteSlot(i);
+                        size = size - 1;
+                        return old;
+                    }
+                    i = (i + 1) & mask;
+                }
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        private void deleteSlot(int hole) {
+            int mask = values.length - 1;
+            int i = hole;
+            while (true) {
+                i = (i + 1) & mask;
+                if (values[i] == null) {
+                    break;
+                }
+                int home = OpenAddressing.hash(keys[i]) & mask;
+                // move entry i into the hole if its home slot is not in (hole, i]
+                if (((i - home) & mask) >= ((i - hole) & mask)) {
+                    keys[hole] = keys[i];
+                    values[hole] = values[i];
+                    hole = i;
+                }
+            }
+            values[hole] = null;
+        }
+
+        void clear() {
+            long stamp = lock.writeLock();
+            try {
+                keys = new int[OpenAddressing.capacityFor(0)];
+                values = new Object[OpenAddressing.capacityFor(0)];
+                size = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void forEachValue(Consumer<? super V> action) {
+            long stamp = lock.readLock();
+            try {
+                for (Object value : values) {
+                    if (value != null) {
+                        action.accept((V) value);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+}
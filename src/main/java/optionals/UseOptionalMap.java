@@ -11,5 +11,14 @@ public class UseOptionalMap {
         System.out.println(uo.getMap().get("d"));    // null
         System.out.println(uo.get("d"));             // Optional.empty
         System.out.println(uo.get("d").orElse(999)); // 999
+        System.out.println(uo.getOrDefault("d", 999)); // 999, no Optional
+
+        // Primitive-specialized versions avoid boxing as well
+        ObjectIntOptionalMap<String> counts = new ObjectIntOptionalMap<>();
+        counts.put("a", 1);
+        counts.put("b", 2);
+        System.out.println(counts.get("b"));               // OptionalInt[2]
+        System.out.println(counts.getOrDefault("d", 999)); // 999
+        counts.ifPresent("a", System.out::println);        // 1
     }
 }
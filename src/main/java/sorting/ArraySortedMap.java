@@ -0,0 +1,187 @@
+package sorting;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable ordered map held in two parallel arrays, built with
+ * {@link Arrays#parallelSort}.
+ * <p>
+ * Sorting a big map into a LinkedHashMap rehashes every entry and allocates a node
+ * for each one. This sorts the source's own entries in parallel, then copies keys and
+ * values out into two arrays, so the result costs two references per entry. Iteration
+ * walks the arrays, and either direction is just a different view of the same arrays.
+ * Key-ordered maps look keys up by binary search. Value-ordered maps build a
+ * key-ordered copy the first time {@code get} is called.
+ */
+final class ArraySortedMap<K extends Comparable<? super K>, V> extends AbstractMap<K, V> {
+    private final Object[] keys;
+    private final Object[] values;
+    private final boolean keyOrdered;
+    private final boolean descending;
+    private volatile ArraySortedMap<K, V> keyIndex;
+
+    private ArraySortedMap(Object[] keys, Object[] values, boolean keyOrdered, boolean descending) {
+        this.keys = keys;
+        this.values = values;
+        this.keyOrdered = keyOrdered;
+        this.descending = descending;
+    }
+
+    static <K extends Comparable<? super K>, V> ArraySortedMap<K, V> sortedByKey(Map<K, V> map) {
+        return sort(entries(map), Map.Entry.comparingByKey(), true);
+    }
+
+    // equal values are ordered by key, as in the incremental value index
+    static <K extends Comparable<? super K>, V extends Comparable<? super V>> ArraySortedMap<K, V> sortedByValue(
+            Map<K, V> map) {
+        return sort(entries(map),
+                Map.Entry.<K, V>comparingByValue().thenComparing(Map.Entry.comparingByKey()), false);
+    }
+
+    private static <K, V> Entry<K, V>[] entries(Map<K, V> map) {
+        return map.entrySet().toArray(newEntries(0));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Entry<K, V>[] newEntries(int length) {
+        return new Entry[length];
+    }
+
+    private static <K extends Comparable<? super K>, V> ArraySortedMap<K, V> sort(
+            Entry<K, V>[] entries, Comparator<Entry<K, V>> order, boolean keyOrdered) {
+        Arrays.parallelSort(entries, order);
+        Object[] keys = new Object[entries.length];
+        Object[] values = new Object[entries.length];
+        Arrays.parallelSetAll(keys, i -> entries[i].getKey());
+        Arrays.parallelSetAll(values, i -> entries[i].getValue());
+        return new ArraySortedMap<>(keys, values, keyOrdered, false);
+    }
+
+    /** The same entries in the opposite order; shares the arrays. */
+    ArraySortedMap<K, V> descendingMap() {
+        ArraySortedMap<K, V> reversed = new ArraySortedMap<>(keys, values, keyOrdered, !descending);
+        reversed.keyIndex = keyIndex;
+        return reversed;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (!keyOrdered) {
+            return keyIndex().get(key);
+        }
+        int i = key == null ? -1 : Arrays.binarySearch(keys, key);
+        return i >= 0 ? (V) values[i] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!keyOrdered) {
+            return keyIndex().containsKey(key);
+        }
+        return key != null && Arrays.binarySearch(keys, key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArraySortedMap<K, V> keyIndex() {
+        ArraySortedMap<K, V> index = keyIndex;
+        if (index == null) {
+            Entry<K, V>[] entries = newEntries(keys.length);
+            Arrays.parallelSetAll(entries, i -> new SimpleImmutableEntry<>((K) keys[i], (V) values[i]));
+            index = sort(entries, Map.Entry.comparingByKey(), true);
+            keyIndex = index;
+        }
+        return index;
+    }
+
+    private int position(int i) {
+        return descending ? keys.length - 1 - i : i;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E> Iterator<E> iterator(IntFunction<Object> element) {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < keys.length;
+            }
+
+            @Override
+            public E next() {
+                if (next >= keys.length) {
+                    throw new NoSuchElementException();
+                }
+                return (E) element.apply(position(next++));
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return ArraySortedMap.this.iterator(i -> new SimpleImmutableEntry<>((K) keys[i], (V) values[i]));
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    // keySet and values read the arrays directly rather than going through entries
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<K> iterator() {
+                return ArraySortedMap.this.iterator(i -> keys[i]);
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return ArraySortedMap.this.iterator(i -> values[i]);
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+}
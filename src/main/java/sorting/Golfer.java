@@ -22,7 +22,7 @@ public class Golfer implements Comparable<Golfer> {
 
     @Override
     public int compareTo(Golfer golfer) {
-        return score - golfer.score;
+        return Integer.compare(score, golfer.score);
     }
 
     public String getFirst() {
@@ -0,0 +1,42 @@
+package sorting;
+
+import model.RecordFormat;
+import model.RecordGenerator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class GolferGenerator {
+    private static final String[] FIRST_NAMES = {
+            "Tiger", "Jack", "Arnold", "Gary", "Sam", "Ben", "Bobby", "Walter", "Phil", "Rory",
+            "Jordan", "Dustin", "Brooks", "Scottie", "Jon", "Collin", "Nelly", "Annika", "Lorena", "Lydia"
+    };
+    private static final String[] LAST_NAMES = {
+            "Woods", "Nicklaus", "Palmer", "Player", "Snead", "Hogan", "Jones", "Hagen", "Mickelson",
+            "McIlroy", "Spieth", "Johnson", "Koepka", "Scheffler", "Rahm", "Morikawa", "Korda",
+            "Sorenstam", "Ochoa", "Ko"
+    };
+
+    public static final RecordFormat<Golfer> FORMAT = new RecordFormat<>() {
+        @Override
+        public void write(Golfer golfer, DataOutput out) throws IOException {
+            out.writeUTF(golfer.getFirst());
+            out.writeUTF(golfer.getLast());
+            out.writeInt(golfer.getScore());
+        }
+
+        @Override
+        public Golfer read(DataInput in) throws IOException {
+            return new Golfer(in.readUTF(), in.readUTF(), in.readInt());
+        }
+    };
+
+    /** Scores are roughly bell-shaped around 72, between 60 and 90. */
+    public static RecordGenerator<Golfer> golfers(long seed) {
+        return RecordGenerator.of(seed, (index, random) -> {
+            int score = 60 + (random.nextInt(11) + random.nextInt(11) + random.nextInt(11));
+            return new Golfer(random.pick(FIRST_NAMES), random.pick(LAST_NAMES), score);
+        });
+    }
+}
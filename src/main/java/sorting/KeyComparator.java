@@ -0,0 +1,276 @@
+package sorting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * A multi-key comparator built once per key spec.
+ * <p>
+ * {@code comparingInt(a).thenComparing(b).thenComparing(c)} nests one lambda inside
+ * another for each key, rebuilt every time the expression runs. Every comparison walks
+ * the nesting, and the JIT sees the same few {@code Comparator} call sites from every
+ * chain in the program. A {@code KeyComparator} holds its keys in one flat array and
+ * compares them in a single loop. Build it once, e.g. into a static field, and reuse it.
+ * <pre>
+ *     private static final KeyComparator&lt;Golfer&gt; BY_SCORE_LAST_FIRST =
+ *             KeyComparator.comparingInt(Golfer::getScore)
+ *                     .thenComparing(Golfer::getLast)
+ *                     .thenComparing(Golfer::getFirst)
+ *                     .build();
+ *
+ *     BY_SCORE_LAST_FIRST.sort(golfers);   // keys extracted once per golfer
+ * </pre>
+ * For big sorts, {@link #sort(Object[])} goes further. It extracts every key once per
+ * element into columns and sorts an index array against the columns, so the
+ * O(n log n) comparisons never call an extractor. The sort is stable.
+ */
+public final class KeyComparator<T> implements Comparator<T> {
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private final Key<T>[] keys;
+
+    private KeyComparator(Key<T>[] keys) {
+        this.keys = keys;
+    }
+
+    public static <T> Builder<T> comparingInt(ToIntFunction<? super T> key) {
+        return new Builder<T>().thenComparingInt(key);
+    }
+
+    public static <T, U extends Comparable<? super U>> Builder<T> comparing(
+            Function<? super T, ? extends U> key) {
+        return new Builder<T>().thenComparing(key);
+    }
+
+    public static <T, U> Builder<T> comparing(Function<? super T, ? extends U> key,
+                                              Comparator<? super U> keyComparator) {
+        return new Builder<T>().thenComparing(key, keyComparator);
+    }
+
+    @Override
+    public int compare(T a, T b) {
+        for (Key<T> key : keys) {
+            int c = key.compare(a, b);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    public void sort(List<T> list) {
+        @SuppressWarnings("unchecked")
+        T[] a = (T[]) list.toArray();
+        sort(a);
+        ListIterator<T> it = list.listIterator();
+        for (T element : a) {
+            it.next();
+            it.set(element);
+        }
+    }
+
+    /** Stable sort that extracts each key once per element instead of once per comparison. */
+    public void sort(T[] a) {
+        int n = a.length;
+        if (n < 2) {
+            return;
+        }
+        Object[] columns = new Object[keys.length];
+        for (int k = 0; k < keys.length; k++) {
+            columns[k] = keys[k].extract(a);
+        }
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        mergeSort(order.clone(), order, 0, n, columns);
+        Object[] sorted = new Object[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = a[order[i]];
+        }
+        System.arraycopy(sorted, 0, a, 0, n);
+    }
+
+    private int compareRows(int i, int j, Object[] columns) {
+        for (int k = 0; k < keys.length; k++) {
+            int c = keys[k].compareColumn(columns[k], i, j);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    // Sorts dst[from, to) using src as scratch; both start with the same contents
+    private void mergeSort(int[] src, int[] dst, int from, int to, Object[] columns) {
+        if (to - from < INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int row = dst[i];
+                int j = i - 1;
+                while (j >= from && compareRows(dst[j], row, columns) > 0) {
+                    dst[j + 1] = dst[j];
+                    j--;
+                }
+                dst[j + 1] = row;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(dst, src, from, mid, columns);
+        mergeSort(dst, src, mid, to, columns);
+        if (compareRows(src[mid - 1], src[mid], columns) <= 0) {
+            System.arraycopy(src, from, dst, from, to - from);
+            return;
+        }
+        for (int i = from, p = from, q = mid; i < to; i++) {
+            if (q >= to || p < mid && compareRows(src[p], src[q], columns) <= 0) {
+                dst[i] = src[p++];
+            } else {
+                dst[i] = src[q++];
+            }
+        }
+    }
+
+    public static final class Builder<T> {
+        private final List<Key<T>> keys = new ArrayList<>();
+
+        private Builder() {}
+
+        public Builder<T> thenComparingInt(ToIntFunction<? super T> key) {
+            keys.add(new IntKey<>(Objects.requireNonNull(key), false));
+            return this;
+        }
+
+        public <U extends Comparable<? super U>> Builder<T> thenComparing(
+                Function<? super T, ? extends U> key) {
+            return thenComparing(key, Comparator.naturalOrder());
+        }
+
+        public <U> Builder<T> thenComparing(Function<? super T, ? extends U> key,
+                                            Comparator<? super U> keyComparator) {
+            @SuppressWarnings("unchecked")
+            Comparator<Object> c = (Comparator<Object>) Objects.requireNonNull(keyComparator);
+            keys.add(new ObjectKey<>(Objects.requireNonNull(key), c, false));
+            return this;
+        }
+
+        /** Compares whole elements, e.g. {@code thenComparing(reverseOrder())}. */
+        public Builder<T> thenComparing(Comparator<? super T> comparator) {
+            return thenComparing(Function.identity(), comparator);
+        }
+
+        /**
+         * Sorts the most recently added key descending. Unlike {@link Comparator#reversed()},
+         * this never reverses the keys before it.
+         */
+        public Builder<T> descending() {
+            if (keys.isEmpty()) {
+                throw new IllegalStateException("No key to reverse");
+            }
+            int last = keys.size() - 1;
+            keys.set(last, keys.get(last).reversed());
+            return this;
+        }
+
+        public KeyComparator<T> build() {
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Key<T>[] array = keys.toArray(new Key[0]);
+            return new KeyComparator<>(array);
+        }
+    }
+
+    private abstract static class Key<T> {
+        final boolean reversed;
+
+        Key(boolean reversed) {
+            this.reversed = reversed;
+        }
+
+        abstract int compare(T a, T b);
+
+        abstract Object extract(T[] elements);
+
+        abstract int compareColumn(Object column, int i, int j);
+
+        abstract Key<T> reversed();
+    }
+
+    private static final class IntKey<T> extends Key<T> {
+        private final ToIntFunction<? super T> extractor;
+
+        IntKey(ToIntFunction<? super T> extractor, boolean reversed) {
+            super(reversed);
+            this.extractor = extractor;
+        }
+
+        @Override
+        int compare(T a, T b) {
+            int x = extractor.applyAsInt(a);
+            int y = extractor.applyAsInt(b);
+            return reversed ? Integer.compare(y, x) : Integer.compare(x, y);
+        }
+
+        @Override
+        Object extract(T[] elements) {
+            int[] column = new int[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                column[i] = extractor.applyAsInt(elements[i]);
+            }
+            return column;
+        }
+
+        @Override
+        int compareColumn(Object column, int i, int j) {
+            int[] values = (int[]) column;
+            return reversed ? Integer.compare(values[j], values[i]) : Integer.compare(values[i], values[j]);
+        }
+
+        @Override
+        Key<T> reversed() {
+            return new IntKey<>(extractor, !reversed);
+        }
+    }
+
+    private static final class ObjectKey<T> extends Key<T> {
+        private final Function<? super T, ?> extractor;
+        private final Comparator<Object> comparator;
+
+        ObjectKey(Function<? super T, ?> extractor, Comparator<Object> comparator, boolean reversed) {
+            super(reversed);
+            this.extractor = extractor;
+            this.comparator = comparator;
+        }
+
+        @Override
+        int compare(T a, T b) {
+            Object x = extractor.apply(a);
+            Object y = extractor.apply(b);
+            return reversed ? comparator.compare(y, x) : comparator.compare(x, y);
+        }
+
+        @Override
+        Object extract(T[] elements) {
+            Object[] column = new Object[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                column[i] = extractor.apply(elements[i]);
+            }
+            return column;
+        }
+
+        @Override
+        int compareColumn(Object column, int i, int j) {
+            Object[] values = (Object[]) column;
+            return reversed ? comparator.compare(values[j], values[i]) : comparator.compare(values[i], values[j]);
+        }
+
+        @Override
+        Key<T> reversed() {
+            return new ObjectKey<>(extractor, comparator, !reversed);
+        }
+    }
+}
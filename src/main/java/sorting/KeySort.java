@@ -0,0 +1,222 @@
+package sorting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Stable sorts by an int key, for keys like a golfer's score or a task's duration.
+ * <p>
+ * {@code sort(comparingInt(key))} calls the key extractor twice per comparison, and
+ * makes O(n log n) comparisons. These methods extract each key once into an int[]
+ * and then pick a strategy from the key range:
+ * <ul>
+ *     <li>already in order: nothing to do</li>
+ *     <li>range no bigger than the array (scores, durations, lengths): one counting-sort pass</li>
+ *     <li>anything wider: LSD radix sort, one pass per byte the range actually uses</li>
+ *     <li>short arrays: TimSort through {@link Arrays#sort(Object[], Comparator)}</li>
+ * </ul>
+ * All of these are stable, so equal keys keep their input order, as with
+ * {@link List#sort}. The parallel variants split each radix pass into chunks that
+ * histogram and scatter independently.
+ */
+public final class KeySort {
+    private static final int COMPARISON_THRESHOLD = 256;
+    private static final int COUNTING_RANGE = 1 << 16;
+    private static final int PARALLEL_THRESHOLD = 1 << 17;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private KeySort() {}
+
+    public static <T> void sortByInt(T[] a, ToIntFunction<? super T> key) {
+        sort(a, key, false);
+    }
+
+    public static <T> void parallelSortByInt(T[] a, ToIntFunction<? super T> key) {
+        sort(a, key, true);
+    }
+
+    public static <T> void sortByInt(List<T> list, ToIntFunction<? super T> key) {
+        sortList(list, key, false);
+    }
+
+    public static <T> void parallelSortByInt(List<T> list, ToIntFunction<? super T> key) {
+        sortList(list, key, true);
+    }
+
+    // Same approach as List.sort: sort an array copy, then write it back
+    @SuppressWarnings("unchecked")
+    private static <T> void sortList(List<T> list, ToIntFunction<? super T> key, boolean parallel) {
+        Object[] a = list.toArray();
+        sort((T[]) a, key, parallel);
+        ListIterator<T> it = list.listIterator();
+        for (Object element : a) {
+            it.next();
+            it.set((T) element);
+        }
+    }
+
+    private static <T> void sort(T[] a, ToIntFunction<? super T> key, boolean parallel) {
+        int n = a.length;
+        if (n < 2) {
+            return;
+        }
+        if (n < COMPARISON_THRESHOLD) {
+            Arrays.sort(a, Comparator.comparingInt(key));
+            return;
+        }
+        int[] keys = new int[n];
+        if (parallel && n >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(keys, i -> key.applyAsInt(a[i]));
+        } else {
+            for (int i = 0; i < n; i++) {
+                keys[i] = key.applyAsInt(a[i]);
+            }
+        }
+        int min = keys[0];
+        int max = keys[0];
+        boolean ordered = true;
+        for (int i = 1; i < n; i++) {
+            int k = keys[i];
+            if (k < keys[i - 1]) {
+                ordered = false;
+            }
+            if (k < min) {
+                min = k;
+            } else if (k > max) {
+                max = k;
+            }
+        }
+        if (ordered) {
+            return;
+        }
+        long range = (long) max - min;
+        for (int i = 0; i < n; i++) {
+            keys[i] -= min;  // now unsigned offsets in [0, range]
+        }
+        if (parallel && n >= PARALLEL_THRESHOLD) {
+            parallelRadixSort(a, keys, range);
+        } else if (range < Math.max(COUNTING_RANGE, n)) {
+            countingSort(a, keys, (int) range + 1);
+        } else {
+            radixSort(a, keys, range);
+        }
+    }
+
+    private static void countingSort(Object[] a, int[] keys, int buckets) {
+        int[] starts = new int[buckets];
+        for (int k : keys) {
+            starts[k]++;
+        }
+        toStarts(starts);
+        Object[] out = new Object[a.length];
+        for (int i = 0; i < a.length; i++) {
+            out[starts[keys[i]]++] = a[i];
+        }
+        System.arraycopy(out, 0, a, 0, a.length);
+    }
+
+    private static int passes(long range) {
+        int bits = 64 - Long.numberOfLeadingZeros(range);
+        return (bits + RADIX_BITS - 1) / RADIX_BITS;
+    }
+
+    private static void radixSort(Object[] a, int[] keys, long range) {
+        int n = a.length;
+        Object[] src = a;
+        Object[] dst = new Object[n];
+        int[] srcKeys = keys;
+        int[] dstKeys = new int[n];
+        int[] offsets = new int[RADIX];
+        for (int pass = 0, passes = passes(range); pass < passes; pass++) {
+            int shift = pass * RADIX_BITS;
+            Arrays.fill(offsets, 0);
+            for (int i = 0; i < n; i++) {
+                offsets[(srcKeys[i] >>> shift) & (RADIX - 1)]++;
+            }
+            toStarts(offsets);
+            for (int i = 0; i < n; i++) {
+                int pos = offsets[(srcKeys[i] >>> shift) & (RADIX - 1)]++;
+                dst[pos] = src[i];
+                dstKeys[pos] = srcKeys[i];
+            }
+            Object[] swap = src;
+            src = dst;
+            dst = swap;
+            int[] swapKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = swapKeys;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+        }
+    }
+
+    // Each chunk histograms its slice, the chunk offsets for every digit are laid out
+    // in chunk order (which keeps the sort stable), then the chunks scatter in parallel.
+    private static void parallelRadixSort(Object[] a, int[] keys, long range) {
+        int n = a.length;
+        int chunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4,
+                n / (PARALLEL_THRESHOLD / 8)));
+        int chunkSize = (n + chunks - 1) / chunks;
+        int[][] offsets = new int[chunks][RADIX];
+        Object[][] src = {a};
+        Object[][] dst = {new Object[n]};
+        int[][] srcKeys = {keys};
+        int[][] dstKeys = {new int[n]};
+        for (int pass = 0, passes = passes(range); pass < passes; pass++) {
+            int shift = pass * RADIX_BITS;
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                int[] counts = offsets[c];
+                Arrays.fill(counts, 0);
+                int[] k = srcKeys[0];
+                for (int i = c * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                    counts[(k[i] >>> shift) & (RADIX - 1)]++;
+                }
+            });
+            int sum = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                for (int c = 0; c < chunks; c++) {
+                    int count = offsets[c][digit];
+                    offsets[c][digit] = sum;
+                    sum += count;
+                }
+            }
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                int[] starts = offsets[c];
+                Object[] from = src[0];
+                Object[] to = dst[0];
+                int[] k = srcKeys[0];
+                int[] toKeys = dstKeys[0];
+                for (int i = c * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                    int pos = starts[(k[i] >>> shift) & (RADIX - 1)]++;
+                    to[pos] = from[i];
+                    toKeys[pos] = k[i];
+                }
+            });
+            Object[] swap = src[0];
+            src[0] = dst[0];
+            dst[0] = swap;
+            int[] swapKeys = srcKeys[0];
+            srcKeys[0] = dstKeys[0];
+            dstKeys[0] = swapKeys;
+        }
+        if (src[0] != a) {
+            System.arraycopy(src[0], 0, a, 0, n);
+        }
+    }
+
+    private static void toStarts(int[] counts) {
+        int sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            int count = counts[i];
+            counts[i] = sum;
+            sum += count;
+        }
+    }
+}
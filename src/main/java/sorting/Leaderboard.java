@@ -0,0 +1,308 @@
+package sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Live golf leaderboard: lowest score leads, and ties share a rank.
+ * <p>
+ * Players are numbered from 0 in the order they're added and stored as struct of
+ * arrays. Scores are an {@code int[]}, and names are indexes into a shared name
+ * table, so a million players are a few flat arrays rather than a million objects.
+ * A Fenwick tree counts players per score, which makes updates and rank lookups
+ * O(log s) for s possible scores. Each score bucket also lists its players, so
+ * {@link #top} only visits the leading buckets.
+ * <p>
+ * Writers take a {@link StampedLock} write lock. {@link #rank} and {@link #score}
+ * read optimistically, and {@link #top} takes a read lock, so reads run alongside
+ * each other and only wait for a writer that is mid-update.
+ */
+public class Leaderboard {
+    private final int minScore;
+    private final int maxScore;
+    private final StampedLock lock = new StampedLock();
+
+    // per player
+    private int[] scores;
+    private int[] firstNames;
+    private int[] lastNames;
+    private int[] bucketSlots;  // where the player sits in its bucket's member list
+    private int size;
+
+    // per score bucket (score - minScore)
+    private final int[] tree;  // Fenwick tree of player counts, 1-based
+    private final int[][] members;
+    private final int[] memberCounts;
+
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameIndex = new HashMap<>();
+
+    public Leaderboard(int minScore, int maxScore) {
+        this(minScore, maxScore, 16);
+    }
+
+    public Leaderboard(int minScore, int maxScore, int expectedPlayers) {
+        if (minScore > maxScore || (long) maxScore - minScore >= 1 << 24) {
+            throw new IllegalArgumentException("Bad score range: " + minScore + ".." + maxScore);
+        }
+        this.minScore = minScore;
+        this.maxScore = maxScore;
+        int capacity = Math.max(expectedPlayers, 16);
+        scores = new int[capacity];
+        firstNames = new int[capacity];
+        lastNames = new int[capacity];
+        bucketSlots = new int[capacity];
+        int buckets = maxScore - minScore + 1;
+        tree = new int[buckets + 1];
+        members = new int[buckets][];
+        memberCounts = new int[buckets];
+    }
+
+    /** @return the new player's id */
+    public int add(Golfer golfer) {
+        return add(golfer.getFirst(), golfer.getLast(), golfer.getScore());
+    }
+
+    public int add(String first, String last, int score) {
+        int bucket = bucketOf(score);
+        long stamp = lock.writeLock();
+        try {
+            int player = size;
+            if (player == scores.length) {
+                int capacity = player * 2;
+                scores = Arrays.copyOf(scores, capacity);
+                firstNames = Arrays.copyOf(firstNames, capacity);
+                lastNames = Arrays.copyOf(lastNames, capacity);
+                bucketSlots = Arrays.copyOf(bucketSlots, capacity);
+            }
+            scores[player] = score;
+            firstNames[player] = nameId(first);
+            lastNames[player] = nameId(last);
+            join(player, bucket);
+            size = player + 1;
+            return player;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void updateScore(int player, int score) {
+        int bucket = bucketOf(score);
+        long stamp = lock.writeLock();
+        try {
+            checkPlayer(player, size);
+            int old = scores[player] - minScore;
+            if (old == bucket) {
+                return;
+            }
+            leave(player, old);
+            scores[player] = score;
+            join(player, bucket);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int score(int player) {
+        long stamp = lock.tryOptimisticRead();
+        int[] s = scores;
+        int n = size;
+        int score = player >= 0 && player < n && player < s.length ? s[player] : 0;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                n = size;
+                score = player >= 0 && player < n ? scores[player] : 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        checkPlayer(player, n);
+        return score;
+    }
+
+    /** 1 plus the number of players with a strictly lower score. */
+    public int rank(int player) {
+        long stamp = lock.tryOptimisticRead();
+        int[] s = scores;
+        int n = size;
+        int rank = 0;
+        if (player >= 0 && player < n && player < s.length) {
+            int bucket = s[player] - minScore;
+            if (bucket >= 0 && bucket < memberCounts.length) {
+                rank = prefixCount(bucket) + 1;
+            }
+        }
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                n = size;
+                if (player >= 0 && player < n) {
+                    rank = prefixCount(scores[player] - minScore) + 1;
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        checkPlayer(player, n);
+        return rank;
+    }
+
+    /** Number of players with a score of {@code score} or better. */
+    public int countAtOrBetter(int score) {
+        if (score < minScore) {
+            return 0;
+        }
+        int bucket = Math.min(score, maxScore) - minScore;
+        long stamp = lock.tryOptimisticRead();
+        int count = prefixCount(bucket + 1);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                count = prefixCount(bucket + 1);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return count;
+    }
+
+    /** Ids of the {@code k} leading players, best first; ties in no particular order. */
+    public int[] topPlayers(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        long stamp = lock.readLock();
+        try {
+            return leaders(k);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public List<Golfer> top(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        long stamp = lock.readLock();
+        try {
+            int[] players = leaders(k);
+            List<Golfer> golfers = new ArrayList<>(players.length);
+            for (int player : players) {
+                golfers.add(golferAt(player));
+            }
+            return golfers;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public Golfer golfer(int player) {
+        long stamp = lock.readLock();
+        try {
+            checkPlayer(player, size);
+            return golferAt(player);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int n = size;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                n = size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return n;
+    }
+
+    // caller holds the lock; StampedLock read locks aren't reentrant
+    private int[] leaders(int k) {
+        int[] top = new int[Math.min(k, size)];
+        int filled = 0;
+        for (int bucket = 0; filled < top.length; bucket++) {
+            int count = Math.min(memberCounts[bucket], top.length - filled);
+            if (count > 0) {
+                System.arraycopy(members[bucket], 0, top, filled, count);
+                filled += count;
+            }
+        }
+        return top;
+    }
+
+    private Golfer golferAt(int player) {
+        return new Golfer(names.get(firstNames[player]), names.get(lastNames[player]), scores[player]);
+    }
+
+    private int bucketOf(int score) {
+        if (score < minScore || score > maxScore) {
+            throw new IllegalArgumentException("Score " + score + " outside " + minScore + ".." + maxScore);
+        }
+        return score - minScore;
+    }
+
+    private static void checkPlayer(int player, int size) {
+        if (player < 0 || player >= size) {
+            throw new IndexOutOfBoundsException("Player: " + player + ", Size: " + size);
+        }
+    }
+
+    private int nameId(String name) {
+        Integer id = nameIndex.get(name);
+        if (id == null) {
+            id = names.size();
+            names.add(name);
+            nameIndex.put(name, id);
+        }
+        return id;
+    }
+
+    // players in buckets [0, bucket)
+    private int prefixCount(int bucket) {
+        int count = 0;
+        for (int i = bucket; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    private void addToTree(int bucket, int delta) {
+        for (int i = bucket + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private void join(int player, int bucket) {
+        int[] list = members[bucket];
+        int count = memberCounts[bucket];
+        if (list == null) {
+            list = members[bucket] = new int[4];
+        } else if (count == list.length) {
+            list = members[bucket] = Arrays.copyOf(list, count * 2);
+        }
+        list[count] = player;
+        bucketSlots[player] = count;
+        memberCounts[bucket] = count + 1;
+        addToTree(bucket, 1);
+    }
+
+    // swap the last member into the leaving player's slot
+    private void leave(int player, int bucket) {
+        int[] list = members[bucket];
+        int last = --memberCounts[bucket];
+        int slot = bucketSlots[player];
+        int moved = list[last];
+        list[slot] = moved;
+        bucketSlots[moved] = slot;
+        addToTree(bucket, -1);
+    }
+}
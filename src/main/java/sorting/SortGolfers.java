@@ -1,5 +1,7 @@
 package sorting;
 
+import streams.BitPartition;
+
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
@@ -22,6 +24,13 @@ public class SortGolfers {
                 .forEach(System.out::println);
     }
 
+    // sort by score with a counting sort on the int scores; ties keep list order
+    public void sortByScoreUsingKeySort() {
+        Golfer[] sorted = golfers.toArray(new Golfer[0]);
+        KeySort.sortByInt(sorted, Golfer::getScore);
+        Arrays.stream(sorted).forEach(System.out::println);
+    }
+
     // sort by score, then equal scores by last name
     public void sortByScoreThenLast() {
         golfers.stream()
@@ -39,6 +48,19 @@ public class SortGolfers {
                 .forEach(System.out::println);
     }
 
+    private static final KeyComparator<Golfer> BY_SCORE_LAST_FIRST =
+            KeyComparator.comparingInt(Golfer::getScore)
+                    .thenComparing(Golfer::getLast)
+                    .thenComparing(Golfer::getFirst)
+                    .build();
+
+    // same order, one flat comparator built once instead of a chain per call
+    public void sortByScoreThenLastThenFirstFlat() {
+        golfers.stream()
+                .sorted(BY_SCORE_LAST_FIRST)
+                .forEach(System.out::println);
+    }
+
     public void partitionByScore() {
         Map<Boolean, List<Golfer>> map = golfers.stream()
                 .collect(Collectors.partitioningBy(
@@ -50,11 +72,33 @@ public class SortGolfers {
         });
     }
 
+    // same split without copying the golfers into two lists
+    public void partitionByScoreBits() {
+        BitPartition<Golfer> under70 = BitPartition.of(golfers, golfer -> golfer.getScore() < 70);
+
+        System.out.println(true + " (" + under70.count() + ")");
+        under70.trueView().forEach(System.out::println);
+        System.out.println(false + " (" + under70.countFalse() + ")");
+        under70.falseView().forEach(System.out::println);
+    }
+
+    // live ranking: scores change without re-sorting the field
+    public void leaderboard() {
+        Leaderboard board = new Leaderboard(50, 100, golfers.size());
+        golfers.forEach(board::add);
+        board.updateScore(1, 66);  // Tiger finishes strong
+
+        board.top(3).forEach(System.out::println);
+        System.out.println("Tom Watson is ranked " + board.rank(2));
+    }
+
     public static void main(String[] args) {
         SortGolfers sg = new SortGolfers();
 //        sg.defaultSort();
 //        sg.sortByScoreThenLast();
         sg.sortByScoreThenLastThenFirst();
 //         sg.partitionByScore();
+//         sg.partitionByScoreBits();
+//         sg.leaderboard();
     }
 }
@@ -1,6 +1,9 @@
 package sorting;
 
+import fileio.ExternalSort;
+
 import java.util.*;
+import java.util.stream.Stream;
 
 import static java.util.Comparator.*;
 import static java.util.stream.Collectors.toList;
@@ -80,4 +83,31 @@ public class SortingDemo {
                         .thenComparing(reverseOrder()))
                 .collect(toList());
     }
+
+    // Sort by length then reverse alpha with a flat comparator, built once
+    private static final KeyComparator<String> LENGTH_THEN_REVERSE_ALPHA =
+            KeyComparator.<String>comparingInt(String::length)
+                    .thenComparing(reverseOrder())
+                    .build();
+
+    public List<String> lengthSortThenReverseAlphaUsingKeyComparator() {
+        List<String> sorted = new ArrayList<>(sampleStrings);
+        LENGTH_THEN_REVERSE_ALPHA.sort(sorted);
+        return sorted;
+    }
+
+    // Length sort from the extracted int keys, no comparator (stable counting sort)
+    public List<String> lengthSortUsingKeySort() {
+        List<String> sorted = new ArrayList<>(sampleStrings);
+        KeySort.sortByInt(sorted, String::length);
+        return sorted;
+    }
+
+    // Length sort then alpha, spilling to temp files once the budget (in bytes) is used up
+    public List<String> lengthSortThenAlphaSortExternally(long memoryBudget) {
+        try (Stream<String> sorted = ExternalSort.sorted(sampleStrings.stream(),
+                comparingInt(String::length).thenComparing(naturalOrder()), memoryBudget)) {
+            return sorted.collect(toList());
+        }
+    }
 }
@@ -1,48 +1,313 @@
 package sorting;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
-import static java.util.Comparator.reverseOrder;
-import static java.util.stream.Collectors.toMap;
-
+/**
+ * A map that keeps itself sorted both ways: by key in a skip list, and by value in a
+ * skip-list index of (value, key) pairs. {@link #put} and {@link #remove} update both
+ * in O(log n), so the sorted getters just hand out read-only views, which cost O(1)
+ * and reflect later updates. Equal values are ordered by key.
+ * <p>
+ * Reads are safe alongside writes. The views are weakly consistent, like the
+ * concurrent collections they sit on, so during an update a value-ordered iteration
+ * may briefly miss the entry being moved. Null keys and values are not allowed.
+ * <p>
+ * For tens of millions of entries, two skip lists cost too much memory. Use
+ * {@link #forLargeMaps()} there: it keeps a plain HashMap and sorts on demand with
+ * {@code Arrays.parallelSort} into an {@link ArraySortedMap}. The sorted result is a
+ * snapshot, cached until the next update.
+ */
 public class SortingMaps<K extends Comparable<? super K>, V extends Comparable<? super V>> {
-    private Map<K, V> map = new HashMap<>();
+    private final Store<K, V> store;
+
+    public SortingMaps() {
+        this(new IncrementalStore<>());
+    }
+
+    private SortingMaps(Store<K, V> store) {
+        this.store = store;
+    }
+
+    /** Large-map mode: sorted getters return array-backed snapshots, built in parallel. */
+    public static <K extends Comparable<? super K>, V extends Comparable<? super V>> SortingMaps<K, V> forLargeMaps() {
+        return new SortingMaps<K, V>(new SnapshotStore<>());
+    }
 
+    /** Replaces the contents with the entries of {@code map}. */
     public void setMap(Map<K, V> map) {
-        this.map = map;
+        store.setMap(map);
     }
 
+    /** Read-only view of the entries; in large-map mode, the key-ordered snapshot. */
     public Map<K, V> getMap() {
-        return map;
+        return store.getMap();
+    }
+
+    public V put(K key, V value) {
+        return store.put(Objects.requireNonNull(key), Objects.requireNonNull(value));
+    }
+
+    public V remove(K key) {
+        return store.remove(key);
+    }
+
+    public V get(K key) {
+        return store.get(key);
+    }
+
+    public int size() {
+        return store.size();
     }
 
     public Map<K, V> getMapSortedByKey() {
-        return map.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .collect(toMap(Map.Entry::getKey, Map.Entry::getValue,
-                        (e1, e2) -> e1, LinkedHashMap::new));
+        return store.sortedByKey(false);
     }
 
     public Map<K, V> getMapSortedByKeyDesc() {
-        return map.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey(reverseOrder()))
-                .collect(toMap(Map.Entry::getKey, Map.Entry::getValue,
-                        (e1, e2) -> e1, LinkedHashMap::new));
+        return store.sortedByKey(true);
     }
 
     public Map<K, V> getMapSortedByValue() {
-        return map.entrySet().stream()
-                .sorted(Map.Entry.comparingByValue())
-                .collect(toMap(Map.Entry::getKey, Map.Entry::getValue,
-                        (e1, e2) -> e1, LinkedHashMap::new));
+        return store.sortedByValue(false);
     }
 
     public Map<K, V> getMapSortedByValueDesc() {
-        return map.entrySet().stream()
-                .sorted(Map.Entry.comparingByValue(reverseOrder()))
-                .collect(toMap(Map.Entry::getKey, Map.Entry::getValue,
-                        (e1, e2) -> e1, LinkedHashMap::new));
+        return store.sortedByValue(true);
+    }
+
+    private interface Store<K, V> {
+        void setMap(Map<K, V> map);
+
+        Map<K, V> getMap();
+
+        V put(K key, V value);
+
+        V remove(K key);
+
+        V get(K key);
+
+        int size();
+
+        Map<K, V> sortedByKey(boolean descending);
+
+        Map<K, V> sortedByValue(boolean descending);
+    }
+
+    private static final class IncrementalStore<K extends Comparable<? super K>, V extends Comparable<? super V>>
+            implements Store<K, V> {
+        private final ConcurrentSkipListMap<K, V> byKey = new ConcurrentSkipListMap<>();
+        private final ConcurrentSkipListSet<ValueEntry<K, V>> byValue = new ConcurrentSkipListSet<>();
+
+        private final Map<K, V> keyView = Collections.unmodifiableSortedMap(byKey);
+        private final Map<K, V> keyDescView = Collections.unmodifiableSortedMap(byKey.descendingMap());
+        private final Map<K, V> valueView = new ValueOrderedView<>(byKey, byValue);
+        private final Map<K, V> valueDescView = new ValueOrderedView<>(byKey, byValue.descendingSet());
+
+        @Override
+        public synchronized void setMap(Map<K, V> map) {
+            byKey.clear();
+            byValue.clear();
+            map.forEach(this::put);
+        }
+
+        @Override
+        public Map<K, V> getMap() {
+            return keyView;
+        }
+
+        @Override
+        public synchronized V put(K key, V value) {
+            V old = byKey.put(key, value);
+            if (old != null) {
+                byValue.remove(new ValueEntry<>(key, old));
+            }
+            byValue.add(new ValueEntry<>(key, value));
+            return old;
+        }
+
+        @Override
+        public synchronized V remove(K key) {
+            V old = byKey.remove(key);
+            if (old != null) {
+                byValue.remove(new ValueEntry<>(key, old));
+            }
+            return old;
+        }
+
+        @Override
+        public V get(K key) {
+            return byKey.get(key);
+        }
+
+        @Override
+        public int size() {
+            return byKey.size();
+        }
+
+        @Override
+        public Map<K, V> sortedByKey(boolean descending) {
+            return descending ? keyDescView : keyView;
+        }
+
+        @Override
+        public Map<K, V> sortedByValue(boolean descending) {
+            return descending ? valueDescView : valueView;
+        }
+    }
+
+    // Writers and snapshot builds share the monitor; a snapshot never sees a half-done update
+    private static final class SnapshotStore<K extends Comparable<? super K>, V extends Comparable<? super V>>
+            implements Store<K, V> {
+        private final Map<K, V> map = new HashMap<>();
+        private volatile ArraySortedMap<K, V> byKey;
+        private volatile ArraySortedMap<K, V> byValue;
+
+        @Override
+        public synchronized void setMap(Map<K, V> map) {
+            this.map.clear();
+            this.map.putAll(map);
+            invalidate();
+        }
+
+        // The HashMap itself is only safe under the monitor, so readers get the snapshot
+        @Override
+        public Map<K, V> getMap() {
+            return sortedByKey(false);
+        }
+
+        @Override
+        public synchronized V put(K key, V value) {
+            invalidate();
+            return map.put(key, value);
+        }
+
+        @Override
+        public synchronized V remove(K key) {
+            invalidate();
+            return map.remove(key);
+        }
+
+        @Override
+        public synchronized V get(K key) {
+            return map.get(key);
+        }
+
+        @Override
+        public synchronized int size() {
+            return map.size();
+        }
+
+        private void invalidate() {
+            byKey = null;
+            byValue = null;
+        }
+
+        @Override
+        public Map<K, V> sortedByKey(boolean descending) {
+            ArraySortedMap<K, V> sorted = byKey;
+            if (sorted == null) {
+                synchronized (this) {
+                    if (byKey == null) {
+                        byKey = ArraySortedMap.sortedByKey(map);
+                    }
+                    sorted = byKey;
+                }
+            }
+            return descending ? sorted.descendingMap() : sorted;
+        }
+
+        @Override
+        public Map<K, V> sortedByValue(boolean descending) {
+            ArraySortedMap<K, V> sorted = byValue;
+            if (sorted == null) {
+                synchronized (this) {
+                    if (byValue == null) {
+                        byValue = ArraySortedMap.sortedByValue(map);
+                    }
+                    sorted = byValue;
+                }
+            }
+            return descending ? sorted.descendingMap() : sorted;
+        }
+    }
+
+    // Entry of the value index: ordered by value, then key, so every pair is distinct
+    private static final class ValueEntry<K extends Comparable<? super K>, V extends Comparable<? super V>>
+            extends AbstractMap.SimpleImmutableEntry<K, V> implements Comparable<ValueEntry<K, V>> {
+        private static final long serialVersionUID = 1L;
+
+        ValueEntry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public int compareTo(ValueEntry<K, V> other) {
+            int c = getValue().compareTo(other.getValue());
+            return c != 0 ? c : getKey().compareTo(other.getKey());
+        }
+    }
+
+    // Read-only map iterating the value index; lookups go through the key skip list
+    private static final class ValueOrderedView<K extends Comparable<? super K>, V extends Comparable<? super V>>
+            extends AbstractMap<K, V> {
+        private final Map<K, V> byKey;
+        private final NavigableSet<ValueEntry<K, V>> index;
+        private final Set<Entry<K, V>> entrySet = new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                Iterator<ValueEntry<K, V>> it = index.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        return it.next();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return byKey.size();
+            }
+        };
+
+        ValueOrderedView(Map<K, V> byKey, NavigableSet<ValueEntry<K, V>> index) {
+            this.byKey = byKey;
+            this.index = index;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return entrySet;
+        }
+
+        @Override
+        public int size() {
+            return byKey.size();
+        }
+
+        @Override
+        public V get(Object key) {
+            return byKey.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return byKey.containsKey(key);
+        }
     }
 }
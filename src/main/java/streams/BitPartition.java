@@ -0,0 +1,336 @@
+package streams;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+/**
+ * Predicate outcomes over a list, one bit per element.
+ * <p>
+ * {@code partitioningBy} copies every element into one of two new lists, which is
+ * about 8 bytes per element before the lists ever grow. When all you need is the
+ * counts, or a look at one side, a bitmap next to the source does the job in one bit
+ * per element. The source is never copied. {@link #trueView()} and
+ * {@link #falseView()} are read-only lists backed by the source and the bitmap.
+ * Predicates chain with {@link #and} and {@link #or}, which only test the elements
+ * whose outcome can still change, and two partitions of the same source combine
+ * word by word.
+ * <pre>
+ *     BitPartition&lt;Golfer&gt; under70 = BitPartition.of(golfers, g -&gt; g.getScore() &lt; 70);
+ *     under70.count();                                         // no lists built
+ *     under70.and(g -&gt; g.getLast().startsWith("W")).trueView(); // read-only view
+ * </pre>
+ * The source must not change size while a partition over it is in use.
+ */
+public final class BitPartition<T> {
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final List<T> source;
+    private final long[] words;
+    private final int size;
+    private final int trueCount;
+
+    // cumulative true count before each word, built on first indexed access to a view
+    private volatile int[] ranks;
+
+    private BitPartition(List<T> source, long[] words) {
+        this.source = source;
+        this.words = words;
+        this.size = source.size();
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        this.trueCount = count;
+    }
+
+    public static <T> BitPartition<T> of(T[] source, Predicate<? super T> predicate) {
+        return of(Arrays.asList(source), predicate);
+    }
+
+    /**
+     * Evaluates the predicate once per element. Large lists are evaluated in parallel,
+     * with each task owning whole 64-element words, so the predicate must be
+     * thread-safe. Lists that are not {@link RandomAccess} are copied to an array first.
+     */
+    public static <T> BitPartition<T> of(List<T> source, Predicate<? super T> predicate) {
+        List<T> list = source instanceof RandomAccess ? source : new ArrayList<>(source);
+        long[] words = new long[wordCount(list.size())];
+        fill(list, words, predicate, null, false);
+        return new BitPartition<>(list, words);
+    }
+
+    /**
+     * Collects a stream into a partition. Unlike {@link #of}, this keeps its own list
+     * of the elements, but still only one list rather than two.
+     */
+    public static <T> Collector<T, ?, BitPartition<T>> partitioningBy(Predicate<? super T> predicate) {
+        return Collector.<T, Accumulator<T>, BitPartition<T>>of(
+                Accumulator::new,
+                (acc, element) -> acc.add(element, predicate.test(element)),
+                Accumulator::append,
+                acc -> new BitPartition<>(acc.elements, Arrays.copyOf(acc.words, wordCount(acc.elements.size()))));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int count() {
+        return trueCount;
+    }
+
+    public int countFalse() {
+        return size - trueCount;
+    }
+
+    public boolean test(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Keeps the elements that are also accepted by {@code predicate}. The predicate
+     * is only tested on elements that are currently true.
+     */
+    public BitPartition<T> and(Predicate<? super T> predicate) {
+        long[] result = words.clone();
+        fill(source, result, predicate, words, true);
+        return new BitPartition<>(source, result);
+    }
+
+    /**
+     * Adds the elements accepted by {@code predicate}. The predicate is only tested on
+     * elements that are currently false.
+     */
+    public BitPartition<T> or(Predicate<? super T> predicate) {
+        long[] result = words.clone();
+        fill(source, result, predicate, words, false);
+        return new BitPartition<>(source, result);
+    }
+
+    public BitPartition<T> and(BitPartition<T> other) {
+        checkSameSource(other);
+        long[] result = new long[words.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new BitPartition<>(source, result);
+    }
+
+    public BitPartition<T> or(BitPartition<T> other) {
+        checkSameSource(other);
+        long[] result = new long[words.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = words[i] | other.words[i];
+        }
+        return new BitPartition<>(source, result);
+    }
+
+    public BitPartition<T> negate() {
+        long[] result = new long[words.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ~words[i];
+        }
+        if (result.length > 0 && (size & 63) != 0) {
+            result[result.length - 1] &= (1L << size) - 1;
+        }
+        return new BitPartition<>(source, result);
+    }
+
+    /** Read-only view of the elements the predicate accepted, in source order. */
+    public List<T> trueView() {
+        return new Selection(true);
+    }
+
+    /** Read-only view of the elements the predicate rejected, in source order. */
+    public List<T> falseView() {
+        return new Selection(false);
+    }
+
+    /** Index of the next element at or after {@code from} with the given outcome, or -1. */
+    public int nextIndex(int from, boolean outcome) {
+        if (from >= size) {
+            return -1;
+        }
+        int w = from >>> 6;
+        long word = (outcome ? words[w] : ~words[w]) & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                int index = (w << 6) + Long.numberOfTrailingZeros(word);
+                return index < size ? index : -1;
+            }
+            if (++w == words.length) {
+                return -1;
+            }
+            word = outcome ? words[w] : ~words[w];
+        }
+    }
+
+    private void checkSameSource(BitPartition<T> other) {
+        if (other.source != source) {
+            throw new IllegalArgumentException("Partitions are over different sources");
+        }
+    }
+
+    private int[] ranks() {
+        int[] r = ranks;
+        if (r == null) {
+            r = new int[words.length + 1];
+            for (int i = 0; i < words.length; i++) {
+                r[i + 1] = r[i] + Long.bitCount(words[i]);
+            }
+            ranks = r;
+        }
+        return r;
+    }
+
+    // index of the n-th (0-based) element with the given outcome
+    private int select(int n, boolean outcome) {
+        int[] r = ranks();
+        int lo = 0;
+        int hi = words.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            int before = outcome ? r[mid] : (mid << 6) - r[mid];
+            if (before <= n) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        long word = outcome ? words[lo] : ~words[lo];
+        int remaining = n - (outcome ? r[lo] : (lo << 6) - r[lo]);
+        for (int i = 0; i < remaining; i++) {
+            word &= word - 1;
+        }
+        return (lo << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    private static int wordCount(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    // Sets each word from the predicate. With no current words every element is
+    // tested; otherwise AND only tests current true bits and OR only current false bits.
+    private static <T> void fill(List<T> list, long[] words, Predicate<? super T> predicate,
+                                 long[] current, boolean and) {
+        int size = list.size();
+        boolean narrowing = current != null && and;
+        IntStream range = IntStream.range(0, words.length);
+        if (size >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(w -> {
+            int base = w << 6;
+            int end = Math.min(size, base + 64);
+            long candidates = end - base == 64 ? -1L : (1L << (end - base)) - 1;
+            long result = 0L;
+            if (current != null) {
+                candidates &= and ? current[w] : ~current[w];
+                result = current[w];
+            }
+            while (candidates != 0) {
+                int bit = Long.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
+                boolean accepted = predicate.test(list.get(base + bit));
+                if (narrowing && !accepted) {
+                    result &= ~(1L << bit);
+                } else if (!narrowing && accepted) {
+                    result |= 1L << bit;
+                }
+            }
+            words[w] = result;
+        });
+    }
+
+    private final class Selection extends AbstractList<T> implements RandomAccess {
+        private final boolean outcome;
+
+        Selection(boolean outcome) {
+            this.outcome = outcome;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return source.get(select(index, outcome));
+        }
+
+        @Override
+        public int size() {
+            return outcome ? trueCount : size - trueCount;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private int next = nextIndex(0, outcome);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public T next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    T element = source.get(next);
+                    next = nextIndex(next + 1, outcome);
+                    return element;
+                }
+            };
+        }
+    }
+
+    private static final class Accumulator<T> {
+        private final ArrayList<T> elements = new ArrayList<>();
+        private long[] words = new long[16];
+
+        void add(T element, boolean accepted) {
+            int index = elements.size();
+            elements.add(element);
+            if (index >>> 6 == words.length) {
+                words = Arrays.copyOf(words, words.length * 2);
+            }
+            if (accepted) {
+                words[index >>> 6] |= 1L << index;
+            }
+        }
+
+        Accumulator<T> append(Accumulator<T> other) {
+            int offset = elements.size();
+            int total = offset + other.elements.size();
+            elements.addAll(other.elements);
+            if (wordCount(total) > words.length) {
+                words = Arrays.copyOf(words, Math.max(words.length * 2, wordCount(total)));
+            }
+            int shift = offset & 63;
+            int base = offset >>> 6;
+            for (int i = 0; i < wordCount(other.elements.size()); i++) {
+                long word = other.words[i];
+                if (word == 0) {
+                    continue;
+                }
+                words[base + i] |= word << shift;
+                if (shift != 0 && base + i + 1 < words.length) {
+                    words[base + i + 1] |= word >>> (64 - shift);
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package streams;
+
+import model.RecordFormat;
+import model.RecordGenerator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class EmployeeGenerator {
+    private static final String[] NAMES = {
+            "Cersei", "Jaime", "Tyrion", "Tywin", "Jon", "Arya", "Sansa", "Robb", "Bran", "Ned",
+            "Daenerys", "Viserys", "Stannis", "Renly", "Robert", "Margaery", "Olenna", "Loras",
+            "Theon", "Yara", "Brienne", "Sandor", "Petyr", "Varys", "Davos", "Samwell"
+    };
+    private static final String[] HOUSES = {
+            "Lannister", "Stark", "Targaryen", "Baratheon", "Tyrell", "Greyjoy", "Martell",
+            "Tully", "Arryn", "Bolton", "Frey", "Tarth"
+    };
+
+    public static final RecordFormat<Employee> FORMAT = new RecordFormat<>() {
+        @Override
+        public void write(Employee employee, DataOutput out) throws IOException {
+            out.writeUTF(employee.getName());
+            out.writeInt(employee.getSalary());
+            out.writeUTF(employee.getDepartment());
+        }
+
+        @Override
+        public Employee read(DataInput in) throws IOException {
+            return new Employee(in.readUTF(), in.readInt(), in.readUTF());
+        }
+    };
+
+    /** Salaries from 30,000 to 300,000, in steps of 1,000; the big houses are the big employers. */
+    public static RecordGenerator<Employee> employees(long seed) {
+        return RecordGenerator.of(seed, (index, random) -> new Employee(
+                random.pick(NAMES), 1_000 * random.nextInt(30, 301), random.pickSkewed(HOUSES)));
+    }
+}
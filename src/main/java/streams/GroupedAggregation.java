@@ -0,0 +1,59 @@
+package streams;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+
+/**
+ * One-pass grouped aggregation over an int attribute.
+ * <p>
+ * {@code groupingBy(key, maxBy(comparingInt(value)))} unboxes on every comparison and
+ * wraps every group in an Optional, and you need a separate pass for each of min, max,
+ * sum and count. {@link #summarizingIntBy} reads the value once per element and
+ * updates all of them together. In a parallel stream each thread fills its own table
+ * and the tables are merged at the end.
+ * <pre>
+ *     Map&lt;String, IntGroupStats&lt;Employee&gt;&gt; byDept = employees.parallelStream()
+ *             .collect(summarizingIntBy(Employee::getDepartment, Employee::getSalary));
+ *     byDept.get("Stark").getArgMax();   // best-paid Stark
+ * </pre>
+ */
+public final class GroupedAggregation {
+    private GroupedAggregation() {}
+
+    public static <T, K> Collector<T, ?, Map<K, IntGroupStats<T>>> summarizingIntBy(
+            Function<? super T, ? extends K> classifier, ToIntFunction<? super T> valueExtractor) {
+        return summarizingIntBy(classifier, valueExtractor, 16);
+    }
+
+    /**
+     * @param expectedGroups sizing hint for each per-thread table
+     */
+    public static <T, K> Collector<T, ?, Map<K, IntGroupStats<T>>> summarizingIntBy(
+            Function<? super T, ? extends K> classifier, ToIntFunction<? super T> valueExtractor,
+            int expectedGroups) {
+        int capacity = (int) Math.min(1 << 30, expectedGroups * 4L / 3 + 1);
+        return Collector.<T, Map<K, IntGroupStats<T>>, Map<K, IntGroupStats<T>>>of(
+                () -> new HashMap<>(capacity),
+                (table, element) -> {
+                    K key = classifier.apply(element);
+                    IntGroupStats<T> stats = table.get(key);
+                    if (stats == null) {
+                        stats = new IntGroupStats<>();
+                        table.put(key, stats);
+                    }
+                    stats.accept(element, valueExtractor.applyAsInt(element));
+                },
+                (left, right) -> {
+                    right.forEach((key, stats) -> left.merge(key, stats, (a, b) -> {
+                        a.combine(b);
+                        return a;
+                    }));
+                    return left;
+                },
+                Collections::unmodifiableMap);
+    }
+}
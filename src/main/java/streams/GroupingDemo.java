@@ -37,5 +37,14 @@ public class GroupingDemo {
                 .collect(groupingBy(String::length,
                         Collectors.maxBy(comparingInt(String::length))));
         printMap(maxBy);
+
+        // Same results from the partitioned collectors, built for big parallel streams
+        Map<Integer, Long> partitionedCounting = strings.parallelStream()
+                .collect(PartitionedGrouping.counting(String::length, 8));
+        printMap(partitionedCounting);
+
+        Map<Integer, Integer> totalLengths = strings.parallelStream()
+                .collect(PartitionedGrouping.summingInt(String::length, String::length, 8));
+        printMap(totalLengths);
     }
 }
@@ -0,0 +1,78 @@
+package streams;
+
+/**
+ * Count, sum, min, max, argMin and argMax of an int attribute over one group.
+ * A group only exists once it has an element, so min/max and the arg elements
+ * are always defined and there's no Optional to unwrap.
+ */
+public class IntGroupStats<T> {
+    private long count;
+    private long sum;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+    private T argMin;
+    private T argMax;
+
+    void accept(T element, int value) {
+        if (count == 0 || value < min) {
+            min = value;
+            argMin = element;
+        }
+        if (count == 0 || value > max) {
+            max = value;
+            argMax = element;
+        }
+        count++;
+        sum += value;
+    }
+
+    // Ties keep the element from this (earlier) partial, like maxBy/minBy
+    void combine(IntGroupStats<T> other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0 || other.min < min) {
+            min = other.min;
+            argMin = other.argMin;
+        }
+        if (count == 0 || other.max > max) {
+            max = other.max;
+            argMax = other.argMax;
+        }
+        count += other.count;
+        sum += other.sum;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public double getAverage() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    public T getArgMin() {
+        return argMin;
+    }
+
+    public T getArgMax() {
+        return argMax;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, sum=%d, min=%d, max=%d, argMax=%s", count, sum, min, max, argMax);
+    }
+}
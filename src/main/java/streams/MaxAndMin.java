@@ -44,5 +44,13 @@ public class MaxAndMin {
 
         map.forEach((house, emp) ->
                 System.out.println(house + ": " + emp.orElse(defaultEmployee)));
+
+        // One pass, no Optionals: max, min, sum and count per department together
+        Map<String, IntGroupStats<Employee>> stats = employees.stream()
+                .collect(GroupedAggregation.summarizingIntBy(Employee::getDepartment,
+                        Employee::getSalary));
+
+        stats.forEach((house, s) ->
+                System.out.println(house + ": " + s.getArgMax() + ", total " + s.getSum()));
     }
 }
@@ -20,5 +20,12 @@ public class PartitionDemo {
                         Collectors.counting()));
 
         numberLengthMap.forEach((k,v) -> System.out.printf("%5s: %d%n", k, v));
+
+        // One bit per element instead of two lists; views read through to the source
+        BitPartition<String> evenLengths = BitPartition.of(strings, s -> s.length() % 2 == 0);
+        System.out.printf("%5s: %d%n", true, evenLengths.count());
+        System.out.printf("%5s: %d%n", false, evenLengths.countFalse());
+        System.out.println(evenLengths.and(s -> s.startsWith("t")).trueView());
+        System.out.println(evenLengths.or(s -> s.length() == 1).falseView());
     }
 }
@@ -0,0 +1,247 @@
+package streams;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+/**
+ * Grouping collectors for large parallel streams.
+ * <p>
+ * {@code groupingBy} gives each thread one big HashMap and merges them pairwise at the
+ * end, and {@code groupingByConcurrent} makes every thread contend on one shared map.
+ * These collectors instead split each thread's table into hash-partitioned buckets.
+ * Each bucket is a small map, so it stays cache-local. Two tables merge bucket by
+ * bucket, and the buckets of a large table merge in parallel. The resulting map is a
+ * read-only view over the buckets, so nothing is rehashed at the end. Each value is
+ * finished exactly once, in place, when the collector finishes.
+ * <p>
+ * The {@code expectedKeys} hint presizes the buckets. {@link #counting} and
+ * {@link #summingInt} keep primitive accumulators and box each total once, at the end.
+ */
+public final class PartitionedGrouping {
+    private static final int MAX_PARTITIONS = 64;
+    private static final int KEYS_PER_PARTITION = 1_024;
+    private static final int PARALLEL_MERGE_THRESHOLD = 1 << 14;
+
+    private PartitionedGrouping() {}
+
+    public static <T, K> Collector<T, ?, Map<K, List<T>>> groupingBy(
+            Function<? super T, ? extends K> classifier) {
+        return groupingBy(classifier, 16);
+    }
+
+    public static <T, K> Collector<T, ?, Map<K, List<T>>> groupingBy(
+            Function<? super T, ? extends K> classifier, int expectedKeys) {
+        return PartitionedGrouping.<T, K, List<T>, List<T>>collector(classifier, expectedKeys,
+                ArrayList::new,
+                List::add,
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                },
+                list -> list);
+    }
+
+    public static <T, K> Collector<T, ?, Map<K, Long>> counting(
+            Function<? super T, ? extends K> classifier, int expectedKeys) {
+        return collector(classifier, expectedKeys,
+                () -> new long[1],
+                (count, element) -> count[0]++,
+                (left, right) -> {
+                    left[0] += right[0];
+                    return left;
+                },
+                count -> count[0]);
+    }
+
+    public static <T, K> Collector<T, ?, Map<K, Integer>> summingInt(
+            Function<? super T, ? extends K> classifier, ToIntFunction<? super T> mapper,
+            int expectedKeys) {
+        return collector(classifier, expectedKeys,
+                () -> new int[1],
+                (sum, element) -> sum[0] += mapper.applyAsInt(element),
+                (left, right) -> {
+                    left[0] += right[0];
+                    return left;
+                },
+                sum -> sum[0]);
+    }
+
+    private static <T, K, A, R> Collector<T, ?, Map<K, R>> collector(
+            Function<? super T, ? extends K> classifier, int expectedKeys,
+            Supplier<A> downstreamSupplier, BiConsumer<A, ? super T> downstreamAccumulator,
+            BinaryOperator<A> downstreamCombiner, Function<A, R> downstreamFinisher) {
+        if (expectedKeys < 0) {
+            throw new IllegalArgumentException("expectedKeys must not be negative: " + expectedKeys);
+        }
+        int partitions = partitionsFor(expectedKeys);
+        int capacity = expectedKeys / partitions * 4 / 3 + 1;
+        return Collector.<T, Table<K, A>, Map<K, R>>of(
+                () -> new Table<>(partitions, capacity),
+                (table, element) -> {
+                    K key = Objects.requireNonNull(classifier.apply(element),
+                            "element cannot be mapped to a null key");
+                    Map<K, A> bucket = table.bucketFor(key);
+                    A container = bucket.get(key);
+                    if (container == null) {
+                        container = downstreamSupplier.get();
+                        bucket.put(key, container);
+                    }
+                    downstreamAccumulator.accept(container, element);
+                },
+                (left, right) -> left.merge(right, downstreamCombiner),
+                table -> new PartitionedMap<>(table.finish(downstreamFinisher)));
+    }
+
+    static int partitionsFor(int expectedKeys) {
+        int wanted = Math.max(1, Math.min(MAX_PARTITIONS, expectedKeys / KEYS_PER_PARTITION));
+        return Integer.highestOneBit(wanted);
+    }
+
+    private static int spread(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Table<K, A> {
+        private final HashMap<K, A>[] buckets;
+        private final int shift;
+
+        Table(int partitions, int capacity) {
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            HashMap<K, A>[] created = new HashMap[partitions];
+            buckets = created;
+            for (int i = 0; i < partitions; i++) {
+                buckets[i] = new HashMap<>(capacity);
+            }
+            shift = 32 - Integer.numberOfTrailingZeros(partitions);
+        }
+
+        int indexFor(Object key) {
+            return shift == 32 ? 0 : spread(key) >>> shift;
+        }
+
+        Map<K, A> bucketFor(Object key) {
+            return buckets[indexFor(key)];
+        }
+
+        int size() {
+            int size = 0;
+            for (HashMap<K, A> bucket : buckets) {
+                size += bucket.size();
+            }
+            return size;
+        }
+
+        Table<K, A> merge(Table<K, A> other, BinaryOperator<A> combiner) {
+            if (buckets.length > 1 && size() + other.size() > PARALLEL_MERGE_THRESHOLD) {
+                IntStream.range(0, buckets.length)
+                        .parallel()
+                        .forEach(i -> mergeBucket(i, other, combiner));
+            } else {
+                for (int i = 0; i < buckets.length; i++) {
+                    mergeBucket(i, other, combiner);
+                }
+            }
+            return this;
+        }
+
+        // Replaces every container with its finished value, reusing the buckets
+        @SuppressWarnings("unchecked")
+        <R> Table<K, R> finish(Function<A, R> finisher) {
+            IntStream indexes = IntStream.range(0, buckets.length);
+            if (buckets.length > 1 && size() > PARALLEL_MERGE_THRESHOLD) {
+                indexes = indexes.parallel();
+            }
+            indexes.forEach(i -> ((HashMap<K, Object>) buckets[i])
+                    .replaceAll((key, container) -> finisher.apply((A) container)));
+            return (Table<K, R>) this;
+        }
+
+        private void mergeBucket(int i, Table<K, A> other, BinaryOperator<A> combiner) {
+            HashMap<K, A> mine = buckets[i];
+            HashMap<K, A> theirs = other.buckets[i];
+            // fold the smaller bucket into the larger one, then keep the larger
+            if (mine.size() < theirs.size()) {
+                mine.forEach((key, value) -> theirs.merge(key, value, (t, m) -> combiner.apply(m, t)));
+                buckets[i] = theirs;
+            } else {
+                theirs.forEach((key, value) -> mine.merge(key, value, combiner));
+            }
+        }
+    }
+
+    // Read-only map over the partitioned buckets of finished values
+    private static final class PartitionedMap<K, R> extends AbstractMap<K, R> {
+        private final Table<K, R> table;
+        private final int size;
+
+        PartitionedMap(Table<K, R> table) {
+            this.table = table;
+            this.size = table.size();
+        }
+
+        @Override
+        public R get(Object key) {
+            return key == null ? null : table.bucketFor(key).get(key);  // keys are never null
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key != null && table.bucketFor(key).containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Entry<K, R>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Iterator<Entry<K, R>> iterator() {
+                    return new Iterator<>() {
+                        private int bucket;
+                        private Iterator<Entry<K, R>> current = table.buckets[0].entrySet().iterator();
+
+                        @Override
+                        public boolean hasNext() {
+                            while (!current.hasNext() && bucket + 1 < table.buckets.length) {
+                                current = table.buckets[++bucket].entrySet().iterator();
+                            }
+                            return current.hasNext();
+                        }
+
+                        @Override
+                        public Entry<K, R> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            return new SimpleImmutableEntry<>(current.next());
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package streams;
 
+import fileio.ExternalSort;
+
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.stream.Stream;
@@ -17,5 +19,24 @@ public class ProcessDictionary {
                     .forEach(w ->
                             System.out.printf("%s (%d)%n", w, w.length()));
         }  // Stream implements AutoCloseable
+
+        // Keep only the ten longest in a bounded heap instead of sorting every word
+        try (Stream<String> lines =
+                     Files.lines(Paths.get("/usr/share/dict/words"))) {
+            lines.filter(s -> s.length() > 20)
+                    .map(String::toLowerCase)
+                    .collect(TopN.topN(10, comparingInt(String::length).reversed()))
+                    .forEach(w ->
+                            System.out.printf("%s (%d)%n", w, w.length()));
+        }
+
+        // Sort the whole list within a 16 MB budget, spilling sorted runs to disk
+        try (Stream<String> sorted = ExternalSort.sorted(
+                Files.lines(Paths.get("/usr/share/dict/words")).map(String::toLowerCase),
+                comparingInt(String::length).reversed(), 16 * 1024 * 1024)) {
+            sorted.limit(10)
+                    .forEach(w ->
+                            System.out.printf("%s (%d)%n", w, w.length()));
+        }
     }
 }
@@ -1,5 +1,8 @@
 package streams;
 
+import metrics.Metrics;
+import metrics.NanoTimer;
+
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -13,6 +16,8 @@ import java.util.stream.DoubleStream;
 import java.util.stream.Stream;
 
 public class Stats {
+    private static final NanoTimer PARSE_TIMER = Metrics.timer("streams.Stats.parseSalaries");
+
     private final NumberFormat nf = NumberFormat.getCurrencyInstance();
 
     public Team line2team(String line) {
@@ -29,6 +34,7 @@ public class Stats {
     }
 
     public List<Team> parseSalaries() {
+        long start = PARSE_TIMER.start();
         List<Team> teams = new ArrayList<>();
         try (Stream<String> lines = Files.lines(
                 Paths.get("src/main/resources/mlb_team_salaries_2017.txt"))) {
@@ -36,6 +42,8 @@ public class Stats {
                     .collect(Collectors.toList());
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            PARSE_TIMER.stop(start);
         }
         return teams;
     }
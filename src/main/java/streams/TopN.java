@@ -0,0 +1,158 @@
+package streams;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collector;
+
+/**
+ * Bounded-heap replacement for {@code sorted(comparator).limit(n)}.
+ * <p>
+ * {@code sorted().limit(n)} buffers and sorts the whole stream to keep n elements.
+ * {@link #topN} keeps only the best n seen so far in a heap whose root is the
+ * current worst, so it needs O(n) memory and O(N log n) time. Each thread in a
+ * parallel stream keeps its own heap, and two heaps merge by offering the smaller
+ * one's elements to the larger.
+ * <pre>
+ *     List&lt;String&gt; longest = words.collect(topN(10, comparingInt(String::length).reversed()));
+ * </pre>
+ * Ties resolve in encounter order, so the result equals
+ * {@code sorted(comparator).limit(n)} for sequential and parallel streams alike.
+ */
+public final class TopN {
+    private TopN() {}
+
+    /**
+     * @return the first {@code n} elements in {@code comparator} order, as an
+     * unmodifiable list
+     */
+    public static <T> Collector<T, ?, List<T>> topN(int n, Comparator<? super T> comparator) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative: " + n);
+        }
+        return Collector.<T, BoundedHeap<T>, List<T>>of(
+                () -> new BoundedHeap<>(n, comparator),
+                BoundedHeap::offer,
+                BoundedHeap::merge,
+                BoundedHeap::toSortedList);
+    }
+
+    // Max-heap by (comparator, sequence): the root is the worst element kept, the one
+    // that goes last and the first to be replaced by a better offer
+    private static final class BoundedHeap<T> {
+        private final int limit;
+        private final Comparator<? super T> comparator;
+        private Object[] elements;
+        private long[] sequences;
+        private int size;
+        // elements offered so far; the next element's encounter sequence
+        private long seen;
+
+        BoundedHeap(int limit, Comparator<? super T> comparator) {
+            this.limit = limit;
+            this.comparator = comparator;
+            int initial = Math.min(limit, 16);
+            this.elements = new Object[initial];
+            this.sequences = new long[initial];
+        }
+
+        void offer(T element) {
+            offer(element, seen++);
+        }
+
+        private void offer(T element, long sequence) {
+            if (size < limit) {
+                if (size == elements.length) {
+                    int capacity = (int) Math.min(limit, size * 2L);
+                    elements = Arrays.copyOf(elements, capacity);
+                    sequences = Arrays.copyOf(sequences, capacity);
+                }
+                siftUp(size++, element, sequence);
+            } else if (limit > 0 && compare(element, sequence, 0) < 0) {
+                siftDown(0, element, sequence);
+            }
+        }
+
+        // right came after everything in this heap, so its sequences shift by seen.
+        // The smaller heap is offered into the larger one.
+        BoundedHeap<T> merge(BoundedHeap<T> right) {
+            long offset = seen;
+            if (right.size > size) {
+                for (int i = 0; i < right.size; i++) {
+                    right.sequences[i] += offset;  // a uniform shift keeps the heap order
+                }
+                for (int i = 0; i < size; i++) {
+                    right.offer(element(i), sequences[i]);
+                }
+                right.seen += offset;
+                return right;
+            }
+            for (int i = 0; i < right.size; i++) {
+                offer(right.element(i), right.sequences[i] + offset);
+            }
+            seen += right.seen;
+            return this;
+        }
+
+        List<T> toSortedList() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int c = comparator.compare(element(a), element(b));
+                return c != 0 ? c : Long.compare(sequences[a], sequences[b]);
+            });
+            List<T> result = new ArrayList<>(size);
+            for (Integer i : order) {
+                result.add(element(i));
+            }
+            return Collections.unmodifiableList(result);
+        }
+
+        @SuppressWarnings("unchecked")
+        private T element(int i) {
+            return (T) elements[i];
+        }
+
+        private int compare(T element, long sequence, int i) {
+            int c = comparator.compare(element, element(i));
+            return c != 0 ? c : Long.compare(sequence, sequences[i]);
+        }
+
+        private void siftUp(int k, T element, long sequence) {
+            while (k > 0) {
+                int parent = (k - 1) >>> 1;
+                if (compare(element, sequence, parent) <= 0) {
+                    break;
+                }
+                elements[k] = elements[parent];
+                sequences[k] = sequences[parent];
+                k = parent;
+            }
+            elements[k] = element;
+            sequences[k] = sequence;
+        }
+
+        private void siftDown(int k, T element, long sequence) {
+            int half = size >>> 1;
+            while (k < half) {
+                int child = 2 * k + 1;
+                int right = child + 1;
+                if (right < size && compare(element(right), sequences[right], child) > 0) {
+                    child = right;
+                }
+                if (compare(element, sequence, child) >= 0) {
+                    break;
+                }
+                elements[k] = elements[child];
+                sequences[k] = sequences[child];
+                k = child;
+            }
+            elements[k] = element;
+            sequences[k] = sequence;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package tasks;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * The summaries {@link UseTasks} prints, computed together.
+ * <p>
+ * UseTasks streams over the task list once for each question: id sum, average
+ * duration, two sorts, grouping and partitioning. {@link #of} instead reads each task
+ * once into columns: an {@code int[]} of ids with a null bitmap, an active bitset and
+ * an {@code int[]} of durations. A single fused pass over the columns then fills in
+ * the sums, the active count and a per-duration histogram. A counting-sort scatter
+ * over the histogram gives the duration order, and the grouping is just slices of that
+ * order. Every query afterwards reads this precomputed state, and list results are
+ * read-only views over the original tasks.
+ */
+public final class TaskAnalytics {
+    private final Task[] tasks;
+    private final long[] active;
+
+    private final int minDuration;
+    private final int activeCount;
+    private final long activeIdSum;
+    private final long activeDurationSum;
+
+    // tasks in stable duration order; bucket b covers order[starts[b] .. starts[b + 1])
+    private final int[] order;
+    private final int[] starts;
+    private volatile int[] orderThenName;
+
+    private TaskAnalytics(Task[] tasks, int[] ids, long[] idPresent, long[] active, int[] durations,
+                          int minDuration, int maxDuration) {
+        this.tasks = tasks;
+        this.active = active;
+        this.minDuration = minDuration;
+
+        int n = tasks.length;
+        int buckets = n == 0 ? 0 : maxDuration - minDuration + 1;
+        int[] counts = new int[buckets + 1];
+        int activeTasks = 0;
+        long idSum = 0;
+        long durationSum = 0;
+        for (int i = 0; i < n; i++) {
+            counts[durations[i] - minDuration + 1]++;
+            if (isSet(active, i)) {
+                activeTasks++;
+                durationSum += durations[i];
+                if (isSet(idPresent, i)) {
+                    idSum += ids[i];
+                }
+            }
+        }
+        this.activeCount = activeTasks;
+        this.activeIdSum = idSum;
+        this.activeDurationSum = durationSum;
+
+        for (int b = 0; b < buckets; b++) {
+            counts[b + 1] += counts[b];
+        }
+        this.starts = counts;
+        int[] next = Arrays.copyOf(counts, buckets);
+        this.order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[next[durations[i] - minDuration]++] = i;
+        }
+    }
+
+    public static TaskAnalytics of(List<Task> source) {
+        Task[] tasks = source.toArray(new Task[0]);
+        int n = tasks.length;
+        int[] ids = new int[n];
+        long[] idPresent = new long[(n + 63) >>> 6];
+        long[] active = new long[(n + 63) >>> 6];
+        int[] durations = new int[n];
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            Task task = tasks[i];
+            Integer id = task.getId();
+            if (id != null) {
+                ids[i] = id;
+                idPresent[i >>> 6] |= 1L << i;
+            }
+            if (task.isActive()) {
+                active[i >>> 6] |= 1L << i;
+            }
+            int duration = task.getDuration();
+            durations[i] = duration;
+            min = Math.min(min, duration);
+            max = Math.max(max, duration);
+        }
+        if (n > 0 && (long) max - min >= 1 << 24) {
+            throw new IllegalArgumentException("Duration range too wide: " + min + ".." + max);
+        }
+        return new TaskAnalytics(tasks, ids, idPresent, active, durations, min, max);
+    }
+
+    private static boolean isSet(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    public int size() {
+        return tasks.length;
+    }
+
+    /** Sum of the ids of active tasks, skipping tasks without an id. */
+    public long sumOfActiveIds() {
+        return activeIdSum;
+    }
+
+    public int activeCount() {
+        return activeCount;
+    }
+
+    public double averageActiveDuration() {
+        return activeCount == 0 ? 0.0 : (double) activeDurationSum / activeCount;
+    }
+
+    /** Stable, like {@code sorted(comparing(Task::getDuration))}. */
+    public List<Task> sortedByDuration() {
+        return new TaskView(order, 0, order.length);
+    }
+
+    public List<Task> sortedByDurationThenName() {
+        int[] sorted = orderThenName;
+        if (sorted == null) {
+            Integer[] boxed = new Integer[order.length];
+            for (int i = 0; i < boxed.length; i++) {
+                boxed[i] = order[i];
+            }
+            Comparator<Integer> byName = Comparator.comparing(i -> tasks[i].getName());
+            for (int b = 0; b + 1 < starts.length; b++) {
+                Arrays.sort(boxed, starts[b], starts[b + 1], byName);
+            }
+            sorted = new int[boxed.length];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = boxed[i];
+            }
+            orderThenName = sorted;
+        }
+        return new TaskView(sorted, 0, sorted.length);
+    }
+
+    /** Tasks grouped by duration, shortest first, each group in list order. */
+    public Map<Integer, List<Task>> groupByDuration() {
+        Map<Integer, List<Task>> groups = new LinkedHashMap<>();
+        for (int b = 0; b + 1 < starts.length; b++) {
+            if (starts[b + 1] > starts[b]) {
+                groups.put(minDuration + b, new TaskView(order, starts[b], starts[b + 1]));
+            }
+        }
+        return groups;
+    }
+
+    public Map<Integer, Long> countByDuration() {
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        for (int b = 0; b + 1 < starts.length; b++) {
+            if (starts[b + 1] > starts[b]) {
+                counts.put(minDuration + b, (long) (starts[b + 1] - starts[b]));
+            }
+        }
+        return counts;
+    }
+
+    public Map<Boolean, List<Task>> partitionByActive() {
+        int[] yes = new int[activeCount];
+        int[] no = new int[tasks.length - activeCount];
+        for (int i = 0, y = 0, x = 0; i < tasks.length; i++) {
+            if (isSet(active, i)) {
+                yes[y++] = i;
+            } else {
+                no[x++] = i;
+            }
+        }
+        Map<Boolean, List<Task>> partition = new LinkedHashMap<>();
+        partition.put(false, new TaskView(no, 0, no.length));
+        partition.put(true, new TaskView(yes, 0, yes.length));
+        return partition;
+    }
+
+    // Read-only slice of the tasks in the given index order
+    private final class TaskView extends AbstractList<Task> implements RandomAccess {
+        private final int[] indexes;
+        private final int from;
+        private final int to;
+
+        TaskView(int[] indexes, int from, int to) {
+            this.indexes = indexes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Task get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (to - from));
+            }
+            return tasks[indexes[from + index]];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
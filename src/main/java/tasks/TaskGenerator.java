@@ -0,0 +1,61 @@
+package tasks;
+
+import model.RecordFormat;
+import model.RecordGenerator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class TaskGenerator {
+    private static final String[] VERBS = {
+            "Defeat", "Answer", "Run away from", "Give a shrubbery to", "Get taunted by",
+            "Weigh", "Dance with", "Build", "Attack", "Applaud", "Oppress", "Find", "Seek"
+    };
+    private static final String[] OBJECTS = {
+            "the Black Knight", "the Bridgekeeper", "a killer rabbit", "the Knights Who Say Ni",
+            "a Frenchman", "a witch", "a duck", "a giant wooden hare", "Swamp Castle",
+            "Tim the Enchanter", "a peasant", "the Holy Grail", "a coconut"
+    };
+
+    /** Writes a presence flag before the id, since ids may be null. */
+    public static final RecordFormat<Task> FORMAT = new RecordFormat<>() {
+        @Override
+        public void write(Task task, DataOutput out) throws IOException {
+            Integer id = task.getId();
+            out.writeBoolean(id != null);
+            if (id != null) {
+                out.writeInt(id);
+            }
+            out.writeBoolean(task.isActive());
+            out.writeInt(task.getDuration());
+            out.writeUTF(task.getName());
+        }
+
+        @Override
+        public Task read(DataInput in) throws IOException {
+            Integer id = in.readBoolean() ? in.readInt() : null;
+            return new Task(id, in.readBoolean(), in.readInt(), in.readUTF());
+        }
+    };
+
+    /**
+     * Task {@code i} has id {@code i} (or none, one time in a hundred), is active
+     * about 60% of the time and mostly lasts a few units, with a long tail up to 100.
+     * Task ids are ints, so only indexes up to {@code Integer.MAX_VALUE} can be
+     * generated; later ones throw IllegalArgumentException rather than repeat ids.
+     */
+    public static RecordGenerator<Task> tasks(long seed) {
+        return RecordGenerator.of(seed, (index, random) -> {
+            if (index > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Task ids are ints; no task for index " + index);
+            }
+            Integer id = random.nextInt(100) == 0 ? null : (int) index;
+            boolean active = random.nextBoolean(0.6);
+            double u = random.nextDouble();
+            int duration = 1 + (int) (u * u * u * 100);
+            String name = random.pick(VERBS) + " " + random.pick(OBJECTS);
+            return new Task(id, active, duration, name);
+        });
+    }
+}
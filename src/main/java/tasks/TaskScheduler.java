@@ -0,0 +1,518 @@
+package tasks;
+
+import metrics.Histogram;
+import metrics.Metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Runs active tasks on a fixed pool of workers, shortest {@code duration} first.
+ * <p>
+ * Each worker owns a priority queue. Submissions are spread round-robin over the
+ * queues (or go to the submitting worker's own queue), and a worker whose queue is
+ * empty steals the best task from another worker's queue. Ties in duration run in
+ * submission order.
+ * <p>
+ * Plain shortest-job-first can starve a long task behind a steady stream of short
+ * ones. With an aging step, every {@code agingStep} a task waits counts as one unit
+ * less duration. That is the same as ordering by {@code submitTime + duration * agingStep},
+ * which doesn't change while the task waits, so the queues stay ordinary heaps.
+ * <p>
+ * Queue wait (submit to start) is recorded into the {@code tasks.TaskScheduler.queueWait}
+ * histogram when {@link Metrics} is enabled. Counts, throughput and mean and max
+ * wait are always tracked and available from the scheduler itself.
+ */
+public class TaskScheduler implements AutoCloseable {
+    private static final Histogram QUEUE_WAIT = Metrics.histogram("tasks.TaskScheduler.queueWait");
+
+    private final Consumer<? super Task> action;
+    private final long agingNanos;  // 0 means no aging
+    private final Worker[] workers;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+    private final AtomicInteger nextQueue = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final CountDownLatch terminated;
+    private volatile boolean shutdown;
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder waitSum = new LongAdder();
+    private final LongAccumulator maxWait = new LongAccumulator(Math::max, 0);
+
+    public TaskScheduler(int workers, Consumer<? super Task> action) {
+        this(workers, action, Duration.ZERO);
+    }
+
+    /**
+     * @param agingStep how long a task has to wait to be treated as one unit shorter;
+     *                  {@code Duration.ZERO} turns aging off
+     */
+    public TaskScheduler(int workers, Consumer<? super Task> action, Duration agingStep) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Need at least one worker: " + workers);
+        }
+        if (agingStep.isNegative()) {
+            throw new IllegalArgumentException("Aging step must not be negative: " + agingStep);
+        }
+        this.action = Objects.requireNonNull(action);
+        this.agingNanos = agingStep.toNanos();
+        this.workers = new Worker[workers];
+        this.terminated = new CountDownLatch(workers);
+        for (int i = 0; i < workers; i++) {
+            this.workers[i] = new Worker(i);
+        }
+        for (Worker worker : this.workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Queues an active task; inactive tasks are skipped.
+     *
+     * @return whether the task was queued
+     * @throws IllegalStateException if the scheduler has been shut down
+     */
+    public boolean submit(Task task) {
+        if (!task.isActive()) {
+            return false;
+        }
+        reserve(1);
+        Worker worker = targetQueue();
+        long now = System.nanoTime();
+        long priority = priority(task, now);
+        long seq = sequence.getAndIncrement();
+        synchronized (worker) {
+            worker.queue.push(task, priority, seq, now);
+        }
+        wakeIdle(1);
+        return true;
+    }
+
+    /**
+     * Queues the active tasks among {@code tasks}. Each worker's share goes into its
+     * queue in one step, so a share is ordered as a whole rather than task by task.
+     *
+     * @return the number of tasks queued
+     */
+    public int submitAll(Collection<Task> tasks) {
+        TaskHeap[] shares = new TaskHeap[workers.length];
+        for (int i = 0; i < shares.length; i++) {
+            shares[i] = new TaskHeap(tasks.size() / shares.length + 1);
+        }
+        int count = 0;
+        int first = nextQueue.getAndAdd(tasks.size());
+        long seq = sequence.getAndAdd(tasks.size());
+        long now = System.nanoTime();
+        for (Task task : tasks) {
+            if (task.isActive()) {
+                shares[Math.floorMod(first + count, shares.length)].append(task, priority(task, now), seq + count, now);
+                count++;
+            }
+        }
+        reserve(count);
+        int pushed = 0;
+        try {
+            for (int i = 0; i < workers.length; i++) {
+                if (shares[i].size() == 0) {
+                    continue;
+                }
+                synchronized (workers[i]) {
+                    workers[i].queue.pushAll(shares[i]);
+                }
+                pushed += shares[i].size();
+            }
+        } catch (RuntimeException | Error e) {
+            // give back the shares that never reached a queue, or workers wait for them forever
+            queued.addAndGet(pushed - count);
+            wakeIdle(pushed);
+            throw e;
+        }
+        wakeIdle(count);
+        return count;
+    }
+
+    private Worker targetQueue() {
+        Thread current = Thread.currentThread();
+        if (current instanceof Worker && ((Worker) current).owner() == this) {
+            return (Worker) current;
+        }
+        return workers[Math.floorMod(nextQueue.getAndIncrement(), workers.length)];
+    }
+
+    // queued goes up before the shutdown check, so a worker that sees
+    // shutdown && queued == 0 knows no submit can still slip in
+    private void reserve(int count) {
+        queued.addAndGet(count);
+        if (shutdown) {
+            queued.addAndGet(-count);
+            throw new IllegalStateException("Scheduler is shut down");
+        }
+    }
+
+
+    // queued is already up, so a worker about to park will see the work instead
+    private void wakeIdle(int count) {
+        for (int i = 0; i < workers.length && count > 0 && idleWorkers.get() > 0; i++) {
+            if (workers[i].idle.compareAndSet(true, false)) {
+                LockSupport.unpark(workers[i]);
+                count--;
+            }
+        }
+    }
+
+    private long priority(Task task, long submitNanos) {
+        if (agingNanos == 0) {
+            return task.getDuration();
+        }
+        long scaled;
+        try {
+            scaled = Math.multiplyExact((long) task.getDuration(), agingNanos);
+        } catch (ArithmeticException e) {
+            scaled = task.getDuration() < 0 ? Long.MIN_VALUE / 2 : Long.MAX_VALUE / 2;
+        }
+        return submitNanos / 2 + scaled / 2;  // halved so the sum can't overflow
+    }
+
+    /** Stops accepting tasks; queued tasks still run. */
+    public void shutdown() {
+        if (!shutdown) {
+            shutdown = true;
+            for (Worker worker : workers) {
+                LockSupport.unpark(worker);  // idle workers wake up to exit
+            }
+        }
+    }
+
+    /**
+     * Stops accepting tasks, drops the queued ones and interrupts the workers.
+     *
+     * @return the tasks that never started
+     */
+    public List<Task> shutdownNow() {
+        shutdown();
+        List<Task> dropped = new ArrayList<>();
+        for (Worker worker : workers) {
+            synchronized (worker) {
+                worker.queue.drainTo(dropped);
+            }
+        }
+        queued.addAndGet(-dropped.size());
+        for (Worker worker : workers) {
+            worker.interrupt();
+        }
+        return dropped;
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /** Shuts down and waits for the queued tasks to finish. */
+    @Override
+    public void close() {
+        shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                terminated.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int queuedCount() {
+        return queued.get();
+    }
+
+    public long completedCount() {
+        return completed.sum();
+    }
+
+    /** Tasks whose action threw; they count as completed too. */
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    /** Completed tasks per second since the scheduler was created. */
+    public double throughput() {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed == 0 ? 0.0 : completed.sum() * 1e9 / elapsed;
+    }
+
+    public double averageQueueWaitNanos() {
+        long n = completed.sum();
+        return n == 0 ? 0.0 : (double) waitSum.sum() / n;
+    }
+
+    public long maxQueueWaitNanos() {
+        return maxWait.get();
+    }
+
+    private void run(Task task, long submitNanos) {
+        long wait = System.nanoTime() - submitNanos;
+        waitSum.add(wait);
+        maxWait.accumulate(wait);
+        QUEUE_WAIT.record(wait);
+        try {
+            action.accept(task);
+        } catch (RuntimeException e) {
+            failed.increment();
+        } finally {
+            completed.increment();
+        }
+    }
+
+    // 4-ary min-heap on (priority, sequence) held in parallel arrays, so sifting
+    // compares longs in place instead of chasing a pointer per entry
+    private static final class TaskHeap {
+        private long[] priorities;
+        private long[] sequences;
+        private long[] submitted;
+        private Task[] tasks;
+        private int size;
+
+        TaskHeap(int capacity) {
+            capacity = Math.max(capacity, 16);
+            priorities = new long[capacity];
+            sequences = new long[capacity];
+            submitted = new long[capacity];
+            tasks = new Task[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void push(Task task, long priority, long sequence, long submitNanos) {
+            append(task, priority, sequence, submitNanos);
+            siftUp(size - 1);
+        }
+
+        // adds without restoring heap order; only for building a batch
+        void append(Task task, long priority, long sequence, long submitNanos) {
+            ensureCapacity(size + 1);
+            priorities[size] = priority;
+            sequences[size] = sequence;
+            submitted[size] = submitNanos;
+            tasks[size] = task;
+            size++;
+        }
+
+        void pushAll(TaskHeap batch) {
+            int n = batch.size;
+            if (n == 0) {
+                return;
+            }
+            if (n < size / 4) {
+                for (int i = 0; i < n; i++) {
+                    push(batch.tasks[i], batch.priorities[i], batch.sequences[i], batch.submitted[i]);
+                }
+                return;
+            }
+            ensureCapacity(size + n);
+            System.arraycopy(batch.priorities, 0, priorities, size, n);
+            System.arraycopy(batch.sequences, 0, sequences, size, n);
+            System.arraycopy(batch.submitted, 0, submitted, size, n);
+            System.arraycopy(batch.tasks, 0, tasks, size, n);
+            size += n;
+            for (int i = (size - 2) >> 2; i >= 0; i--) {  // signed: no parent when size < 2
+                siftDown(i);
+            }
+        }
+
+        /** Removes the first task and stores its submit time in {@code submitNanos[0]}. */
+        Task poll(long[] submitNanos) {
+            if (size == 0) {
+                return null;
+            }
+            Task task = tasks[0];
+            submitNanos[0] = submitted[0];
+            int last = --size;
+            move(last, 0);
+            tasks[last] = null;
+            if (last > 0) {
+                siftDown(0);
+            }
+            return task;
+        }
+
+        void drainTo(List<Task> out) {
+            for (int i = 0; i < size; i++) {
+                out.add(tasks[i]);
+                tasks[i] = null;
+            }
+            size = 0;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > tasks.length) {
+                int grown = Math.max(capacity, tasks.length + (tasks.length >> 1));
+                priorities = Arrays.copyOf(priorities, grown);
+                sequences = Arrays.copyOf(sequences, grown);
+                submitted = Arrays.copyOf(submitted, grown);
+                tasks = Arrays.copyOf(tasks, grown);
+            }
+        }
+
+        private static boolean before(long priority, long sequence, long otherPriority, long otherSequence) {
+            return priority < otherPriority || priority == otherPriority && sequence < otherSequence;
+        }
+
+        private void move(int from, int to) {
+            priorities[to] = priorities[from];
+            sequences[to] = sequences[from];
+            submitted[to] = submitted[from];
+            tasks[to] = tasks[from];
+        }
+
+        private void siftUp(int i) {
+            long priority = priorities[i];
+            long sequence = sequences[i];
+            long submit = submitted[i];
+            Task task = tasks[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 2;
+                if (!before(priority, sequence, priorities[parent], sequences[parent])) {
+                    break;
+                }
+                move(parent, i);
+                i = parent;
+            }
+            priorities[i] = priority;
+            sequences[i] = sequence;
+            submitted[i] = submit;
+            tasks[i] = task;
+        }
+
+        private void siftDown(int i) {
+            long priority = priorities[i];
+            long sequence = sequences[i];
+            long submit = submitted[i];
+            Task task = tasks[i];
+            while (true) {
+                int child = (i << 2) + 1;
+                if (child >= size) {
+                    break;
+                }
+                int best = child;
+                for (int c = child + 1, end = Math.min(child + 4, size); c < end; c++) {
+                    if (before(priorities[c], sequences[c], priorities[best], sequences[best])) {
+                        best = c;
+                    }
+                }
+                if (!before(priorities[best], sequences[best], priority, sequence)) {
+                    break;
+                }
+                move(best, i);
+                i = best;
+            }
+            priorities[i] = priority;
+            sequences[i] = sequence;
+            submitted[i] = submit;
+            tasks[i] = task;
+        }
+    }
+
+    // A worker only parks when it finds nothing to run or steal. It flags itself idle
+    // before re-checking queued, and submitters bump queued before looking for idle
+    // workers, so one side always sees the other and no wake-up is lost.
+    private final class Worker extends Thread {
+        private final int index;
+        private final long[] submitNanos = new long[1];
+        final TaskHeap queue = new TaskHeap(16);
+        final AtomicBoolean idle = new AtomicBoolean();
+
+        Worker(int index) {
+            super("task-scheduler-" + index);
+            this.index = index;
+            setDaemon(true);
+        }
+
+        TaskScheduler owner() {
+            return TaskScheduler.this;
+        }
+
+        // own queue first, then steal from the others; the worker's monitor guards its queue
+        private Task take() {
+            Task task;
+            synchronized (this) {
+                task = queue.poll(submitNanos);
+            }
+            for (int i = 1; task == null && i < workers.length; i++) {
+                Worker victim = workers[(index + i) % workers.length];
+                synchronized (victim) {
+                    task = victim.queue.poll(submitNanos);
+                }
+            }
+            if (task != null) {
+                queued.decrementAndGet();
+            }
+            return task;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Task task = take();
+                    if (task != null) {
+                        TaskScheduler.this.run(task, submitNanos[0]);
+                    } else if (shutdown && queued.get() == 0) {
+                        return;
+                    } else if (queued.get() == 0) {
+                        awaitWork();
+                    } else {
+                        Thread.onSpinWait();  // a submit is between counting and pushing
+                    }
+                }
+            } finally {
+                terminated.countDown();
+            }
+        }
+
+        private void awaitWork() {
+            if (!shutdown) {
+                Thread.interrupted();  // a stray interrupt would stop park from blocking
+            }
+            idle.set(true);
+            idleWorkers.incrementAndGet();
+            try {
+                while (idle.get() && queued.get() == 0 && !shutdown) {
+                    LockSupport.park(this);
+                }
+            } finally {
+                idle.set(false);
+                idleWorkers.decrementAndGet();
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package tasks;
 
+import sorting.KeyComparator;
+import sorting.KeySort;
+
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -48,6 +51,13 @@ public class UseTasks {
         System.out.println("Sorted by duration:");
         taskList.forEach(System.out::println);
 
+        // Sort by duration without a comparator: durations are small ints
+        taskList = new ArrayList<>(tasks);
+        KeySort.sortByInt(taskList, Task::getDuration);
+
+        System.out.println("Sorted by duration (key sort):");
+        taskList.forEach(System.out::println);
+
         // Sort by duration, then by name alphabetically
         taskList = tasks.stream()
                 .sorted(comparing(Task::getDuration)
@@ -57,6 +67,16 @@ public class UseTasks {
         System.out.println("Sorted by duration then by name");
         taskList.forEach(System.out::println);
 
+        // Same order from a flat comparator; sort() extracts each task's keys once
+        taskList = new ArrayList<>(tasks);
+        KeyComparator.comparingInt(Task::getDuration)
+                .thenComparing(Task::getName)
+                .build()
+                .sort(taskList);
+
+        System.out.println("Sorted by duration then by name (key comparator)");
+        taskList.forEach(System.out::println);
+
         // Sort by duration, then by name, reverse alpha
         taskList = tasks.stream()
                 .sorted(comparing(Task::getDuration)
@@ -101,6 +121,20 @@ public class UseTasks {
                 .collect(groupingBy(Task::getDuration, counting()));
         nameMap.forEach((k, v) -> System.out.println(k + " : " + v));
 
+        // All of the above from one pass over a columnar copy of the tasks
+        TaskAnalytics analytics = TaskAnalytics.of(tasks);
+        System.out.println("Sum of id's of active tasks: " + analytics.sumOfActiveIds());
+        System.out.printf("The average duration of the active tasks is %s%n",
+                analytics.averageActiveDuration());
+        System.out.println("Sorted by duration then by name: " + analytics.sortedByDurationThenName());
+        analytics.countByDuration().forEach((k, v) -> System.out.println(k + " : " + v));
+        analytics.partitionByActive().forEach((key, val) -> System.out.println(key + " : " + val.size()));
+
+        // Run the active tasks, shortest first; one worker makes the order visible
+        System.out.println("Run shortest first:");
+        try (TaskScheduler scheduler = new TaskScheduler(1, System.out::println)) {
+            scheduler.submitAll(tasks);
+        }
     }
 }
 
@@ -0,0 +1,82 @@
+package concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapConcurrentTest {
+
+    private static int sleepThenDouble(int n) {
+        try {
+            // later elements finish first, so order must come from the window
+            Thread.sleep(50 - n);
+        } catch (InterruptedException ignored) {
+        }
+        return n * 2;
+    }
+
+    @Test
+    void keepsEncounterOrder() {
+        List<Integer> doubled = MapConcurrent.mapConcurrent(
+                        IntStream.range(0, 40).boxed(), 8, MapConcurrentTest::sleepThenDouble)
+                .collect(Collectors.toList());
+        assertEquals(IntStream.range(0, 40).map(n -> n * 2).boxed().collect(Collectors.toList()),
+                doubled);
+    }
+
+    @Test
+    void neverExceedsMaxConcurrency() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxSeen = new AtomicInteger();
+        long count = MapConcurrent.mapConcurrent(IntStream.range(0, 100).boxed(), 4, n -> {
+                    maxSeen.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(2);
+                    } catch (InterruptedException ignored) {
+                    }
+                    inFlight.decrementAndGet();
+                    return n;
+                })
+                .count();
+        assertEquals(100, count);
+        assertTrue(maxSeen.get() <= 4, "max in flight was " + maxSeen.get());
+    }
+
+    @Test
+    void runsBlockingCallsConcurrently() {
+        long start = System.nanoTime();
+        int total = MapConcurrent.mapConcurrent(IntStream.range(0, 64).boxed(), 64, n -> {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException ignored) {
+                    }
+                    return n;
+                })
+                .mapToInt(Integer::intValue)
+                .sum();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(63 * 64 / 2, total);
+        assertTrue(elapsedMillis < 3_000, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void rethrowsMapperFailure() {
+        Stream<Integer> stream = MapConcurrent.mapConcurrent(Stream.of(1, 2, 3), 2, n -> {
+            if (n == 2) throw new IllegalStateException("boom");
+            return n;
+        });
+        assertThrows(IllegalStateException.class, () -> stream.collect(Collectors.toList()));
+    }
+
+    @Test
+    void rejectsNonPositiveConcurrency() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MapConcurrent.mapConcurrent(Stream.of(1), 0, n -> n));
+    }
+}
@@ -0,0 +1,116 @@
+package concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskScopeTest {
+
+    @Test
+    void joinsAllSubtasks() throws Exception {
+        try (TaskScope.ShutdownOnFailure scope = new TaskScope.ShutdownOnFailure()) {
+            List<TaskScope.Subtask<Integer>> subtasks = IntStream.range(0, 1000)
+                    .mapToObj(i -> scope.<Integer>fork(() -> i * 2))
+                    .collect(Collectors.toList());
+            scope.join().throwIfFailed();
+            assertEquals(999 * 1000, subtasks.stream().mapToInt(TaskScope.Subtask::get).sum());
+        }
+    }
+
+    @Test
+    void failureCancelsSiblingsQuickly() throws Exception {
+        int siblings = 50;
+        AtomicInteger interrupted = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(siblings);
+        long start;
+        long latencyMillis;
+        try (TaskScope.ShutdownOnFailure scope = new TaskScope.ShutdownOnFailure(siblings + 1)) {
+            for (int i = 0; i < siblings; i++) {
+                scope.fork(() -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.incrementAndGet();
+                        throw e;
+                    }
+                    return "too slow";
+                });
+            }
+            started.await();
+            start = System.nanoTime();
+            scope.fork(() -> {
+                throw new IllegalStateException("boom");
+            });
+            scope.join();
+            latencyMillis = (System.nanoTime() - start) / 1_000_000;
+
+            ExecutionException e = assertThrows(ExecutionException.class, scope::throwIfFailed);
+            assertEquals(IllegalStateException.class, e.getCause().getClass());
+        }
+        long closedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(latencyMillis < 1_000, "join took " + latencyMillis + " ms");
+        assertTrue(closedMillis < 2_000, "close took " + closedMillis + " ms");
+        assertEquals(siblings, interrupted.get());
+    }
+
+    @Test
+    void firstSuccessWins() throws Exception {
+        try (TaskScope.ShutdownOnSuccess<String> scope = new TaskScope.ShutdownOnSuccess<>()) {
+            scope.fork(() -> {
+                Thread.sleep(10_000);
+                return "slow";
+            });
+            scope.fork(() -> "fast");
+            assertEquals("fast", scope.join().result());
+            assertTrue(scope.isShutdown());
+        }
+    }
+
+    @Test
+    void allFailuresReportFirstException() throws Exception {
+        try (TaskScope.ShutdownOnSuccess<String> scope = new TaskScope.ShutdownOnSuccess<>()) {
+            scope.fork(() -> {
+                throw new IllegalArgumentException("bad");
+            });
+            scope.join();
+            ExecutionException e = assertThrows(ExecutionException.class, scope::result);
+            assertEquals(IllegalArgumentException.class, e.getCause().getClass());
+        }
+    }
+
+    @Test
+    void joinUntilTimesOut() throws Exception {
+        try (TaskScope<String> scope = new TaskScope<>()) {
+            TaskScope.Subtask<String> subtask = scope.fork(() -> {
+                Thread.sleep(10_000);
+                return "late";
+            });
+            assertThrows(TimeoutException.class,
+                    () -> scope.joinUntil(Instant.now().plusMillis(50)));
+            assertTrue(scope.isShutdown());
+            assertThrows(IllegalStateException.class, subtask::get);
+        }
+    }
+
+    @Test
+    void forkAfterShutdownNeverRuns() {
+        AtomicInteger runs = new AtomicInteger();
+        try (TaskScope<Integer> scope = new TaskScope<>()) {
+            scope.shutdown();
+            TaskScope.Subtask<Integer> subtask = scope.fork(runs::incrementAndGet);
+            assertEquals(TaskScope.State.UNAVAILABLE, subtask.state());
+        }
+        assertEquals(0, runs.get());
+    }
+}
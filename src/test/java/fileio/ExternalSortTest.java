@@ -0,0 +1,114 @@
+package fileio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalSortTest {
+    private final Comparator<String> byLength = Comparator.comparingInt(String::length);
+
+    private List<String> randomWords(int count) {
+        SplittableRandom random = new SplittableRandom(7);
+        List<String> words = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                // mostly ASCII, with some multi-byte characters
+                sb.append(random.nextInt(10) == 0 ? (char) ('à' + random.nextInt(20)) : (char) ('a' + random.nextInt(26)));
+            }
+            words.add(sb.toString());
+        }
+        return words;
+    }
+
+    private long runFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(p -> p.getFileName().toString().startsWith("sort-run-")).count();
+        }
+    }
+
+    @Test
+    void smallInputSortsInMemory() throws IOException {
+        List<String> words = randomWords(1_000);
+        long before = runFiles();
+        try (Stream<String> sorted = ExternalSort.sorted(words.stream(), Comparator.naturalOrder(), 1L << 30)) {
+            assertEquals(words.stream().sorted().collect(Collectors.toList()), sorted.collect(Collectors.toList()));
+        }
+        assertEquals(before, runFiles());
+    }
+
+    @Test
+    void spilledRunsMergeStably() throws IOException {
+        List<String> words = randomWords(50_000);
+        List<String> expected = new ArrayList<>(words);
+        expected.sort(byLength);
+
+        long before = runFiles();
+        // about 8k words per run and a fan-in of 3, so several merge passes
+        try (Stream<String> sorted = ExternalSort.sorted(words.stream(), byLength, 600_000, 3)) {
+            assertEquals(expected, sorted.collect(Collectors.toList()));
+        }
+        assertEquals(before, runFiles());
+    }
+
+    @Test
+    void failedMergePassLeavesNoRuns() throws IOException {
+        List<String> words = randomWords(50_000);
+        // count the comparisons made before the final merge: run sorting plus merge passes
+        AtomicLong comparisons = new AtomicLong();
+        Comparator<String> counting = (a, b) -> {
+            comparisons.incrementAndGet();
+            return byLength.compare(a, b);
+        };
+        try (Stream<String> sorted = ExternalSort.sorted(words.stream(), counting, 600_000, 3)) {
+            assertTrue(comparisons.get() > 0);
+        }
+        long failAt = comparisons.get() - 100;  // inside the last group of the last pass
+
+        long before = runFiles();
+        AtomicLong calls = new AtomicLong();
+        Comparator<String> failing = (a, b) -> {
+            if (calls.incrementAndGet() == failAt) {
+                throw new IllegalStateException("comparator failed");
+            }
+            return byLength.compare(a, b);
+        };
+        assertThrows(IllegalStateException.class, () -> ExternalSort.sorted(words.stream(), failing, 600_000, 3));
+        assertEquals(before, runFiles());
+    }
+
+    @Test
+    void sortsDictionaryFile() throws IOException {
+        Path dictionary = Paths.get("src/main/resources/dict/words");
+        Path output = Files.createTempFile("sorted-words", ".txt");
+        try {
+            ExternalSort.sort(dictionary, output, Comparator.reverseOrder(), 1024 * 1024);
+            List<String> expected;
+            try (Stream<String> lines = Files.lines(dictionary)) {
+                expected = lines.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+            }
+            assertEquals(expected, Files.readAllLines(output));
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    @Test
+    void rejectsNonPositiveBudget() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ExternalSort.sorted(Stream.of("a"), byLength, 0));
+    }
+}
@@ -0,0 +1,85 @@
+package manipulatecollection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListCompactionTest {
+
+    private static List<Integer> randomList(int n, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Integer> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(random.nextInt(20) == 0 ? null : random.nextInt(100));
+        }
+        return list;
+    }
+
+    private static Predicate<Integer> below(int limit) {
+        return x -> x != null && x < limit;
+    }
+
+    @Test
+    void removeIfMatchesArrayListRemoveIf() {
+        // small lists take the sequential path, big ones the parallel one
+        for (int n : new int[]{0, 1, 1_000, ListCompaction.PARALLEL_THRESHOLD, 300_001}) {
+            for (int limit : new int[]{0, 1, 50, 99, 100}) {
+                List<Integer> expected = randomList(n, n + limit);
+                List<Integer> actual = new ArrayList<>(expected);
+                int before = expected.size();
+                expected.removeIf(below(limit));
+                assertEquals(before - expected.size(), ListCompaction.removeIf(actual, below(limit)));
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    void retainIfKeepsOnlyMatches() {
+        List<Integer> list = randomList(200_000, 1);
+        List<Integer> expected = list.stream().filter(below(10)).collect(Collectors.toList());
+        assertEquals(list.size() - expected.size(), ListCompaction.retainIf(list, below(10)));
+        assertEquals(expected, list);
+    }
+
+    @Test
+    void partitionIsStableOnBothSides() {
+        List<Integer> list = randomList(200_000, 2);
+        List<Integer> expected = Stream.concat(
+                list.stream().filter(below(30)),
+                list.stream().filter(below(30).negate())).collect(Collectors.toList());
+        int matches = ListCompaction.partitionInPlace(list, below(30));
+        assertEquals(list.stream().filter(below(30)).count(), matches);
+        assertEquals(expected, list);
+
+        List<Integer> none = randomList(1_000, 3);
+        List<Integer> copy = new ArrayList<>(none);
+        assertEquals(0, ListCompaction.partitionInPlace(none, below(0)));
+        assertEquals(copy, none);
+    }
+
+    @Test
+    void worksOnAnyMutableList() {
+        List<Integer> expected = randomList(100_000, 4);
+        List<Integer> linked = new LinkedList<>(expected);
+        expected.removeIf(below(50));
+        ListCompaction.removeIf(linked, below(50));
+        assertEquals(expected, linked);
+    }
+
+    @Test
+    void listIsUnchangedWhenThePredicateThrows() {
+        List<Integer> list = randomList(200_000, 5);
+        List<Integer> copy = new ArrayList<>(list);
+        assertThrows(NullPointerException.class, () -> ListCompaction.removeIf(list, x -> x < 50));
+        assertEquals(copy, list);
+    }
+}
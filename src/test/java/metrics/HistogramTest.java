@@ -0,0 +1,89 @@
+package metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramTest {
+
+    @BeforeEach
+    void setUp() {
+        Metrics.enable();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.disable();
+    }
+
+    @Test
+    void bucketBoundsContainValue() {
+        long[] values = {0, 1, 31, 32, 63, 64, 100, 1_000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = Histogram.bucketIndex(value);
+            assertTrue(index < Histogram.BUCKET_COUNT);
+            assertTrue(Histogram.lowerBound(index) <= value, "lower bound for " + value);
+            assertTrue(Histogram.upperBound(index) >= value, "upper bound for " + value);
+        }
+    }
+
+    @Test
+    void relativeErrorIsSmall() {
+        for (long value = 64; value < 1L << 40; value = value * 3 + 7) {
+            int index = Histogram.bucketIndex(value);
+            long width = Histogram.upperBound(index) - Histogram.lowerBound(index);
+            assertTrue(width <= value / 16, "bucket too wide for " + value);
+        }
+    }
+
+    @Test
+    void percentiles() {
+        Histogram histogram = new Histogram("test");
+        IntStream.rangeClosed(1, 1000).forEach(histogram::record);
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(1000, snapshot.getMax());
+        assertEquals(500.5, snapshot.getMean(), 0.001);
+        assertEquals(500, snapshot.getValueAtPercentile(50), 16);
+        assertEquals(990, snapshot.getValueAtPercentile(99), 32);
+        assertEquals(1000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    void concurrentRecording() {
+        Histogram histogram = new Histogram("concurrent");
+        IntStream.range(0, 100_000)
+                .parallel()
+                .forEach(i -> histogram.record(i % 1000));
+        assertEquals(100_000, histogram.snapshot().getCount());
+        assertEquals(100_000, histogram.getCount());
+    }
+
+    @Test
+    void disabledRecordsNothing() {
+        Metrics.disable();
+        Histogram histogram = new Histogram("disabled");
+        histogram.record(42);
+        assertEquals(0, histogram.snapshot().getCount());
+    }
+
+    @Test
+    void bucketsAreAllocatedOnFirstRecord() {
+        Metrics.disable();
+        Histogram histogram = new Histogram("lazy");
+        histogram.record(42);
+        histogram.snapshot();
+        assertEquals(0, histogram.allocatedStripes());
+
+        Metrics.enable();
+        histogram.record(42);
+        assertEquals(1, histogram.allocatedStripes());
+        assertEquals(1, histogram.snapshot().getCount());
+    }
+}
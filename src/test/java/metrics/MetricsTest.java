@@ -0,0 +1,77 @@
+package metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @BeforeEach
+    void setUp() {
+        Metrics.reset();
+        Metrics.enable();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.disable();
+        Metrics.reset();
+    }
+
+    @Test
+    void timerRecordsElapsedNanos() {
+        NanoTimer timer = Metrics.timer("test.sleep");
+        String result = timer.time(() -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException ignored) {
+            }
+            return "done";
+        });
+        assertEquals("done", result);
+
+        HistogramSnapshot snapshot = timer.snapshot();
+        assertEquals(1, snapshot.getCount());
+        assertTrue(snapshot.getMax() >= 5_000_000, "recorded " + snapshot.getMax());
+    }
+
+    @Test
+    void sameNameReturnsSameMetric() {
+        assertSame(Metrics.timer("a"), Metrics.timer("a"));
+        assertSame(Metrics.counter("b"), Metrics.counter("b"));
+        assertSame(Metrics.histogram("c"), Metrics.histogram("c"));
+    }
+
+    @Test
+    void disabledTimerSkipsClock() {
+        Metrics.disable();
+        NanoTimer timer = Metrics.timer("test.disabled");
+        long start = timer.start();
+        timer.stop(start);
+        Metrics.counter("test.disabled").increment();
+
+        assertEquals(0, timer.snapshot().getCount());
+        assertEquals(0, Metrics.counter("test.disabled").getCount());
+    }
+
+    @Test
+    void snapshotExports() {
+        Metrics.counter("test.counter").add(3);
+        Metrics.histogram("test.histogram").record(10);
+        Metrics.timer("test.timer").record(1_000);
+
+        MetricsSnapshot snapshot = Metrics.snapshot();
+        assertEquals(3L, snapshot.getCounters().get("test.counter"));
+
+        String text = snapshot.toText();
+        assertTrue(text.contains("counter   test.counter count=3"), text);
+        assertTrue(text.contains("test.timer count=1"), text);
+
+        String json = snapshot.toJson();
+        assertTrue(json.startsWith("{\"timers\":{"), json);
+        assertTrue(json.contains("\"test.counter\":3"), json);
+        assertTrue(json.contains("\"test.histogram\":{\"count\":1,\"min\":10,\"max\":10"), json);
+    }
+}
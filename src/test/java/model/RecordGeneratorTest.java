@@ -0,0 +1,126 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import sorting.Golfer;
+import sorting.GolferGenerator;
+import streams.Employee;
+import streams.EmployeeGenerator;
+import tasks.Task;
+import tasks.TaskGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordGeneratorTest {
+
+    @Test
+    void sameSeedSameUsers() {
+        List<User> first = UserGenerator.users(42).stream(1_000).collect(Collectors.toList());
+        List<User> second = UserGenerator.users(42).stream(1_000).collect(Collectors.toList());
+        assertEquals(first, second);
+        assertNotEquals(first, UserGenerator.users(43).stream(1_000).collect(Collectors.toList()));
+    }
+
+    @Test
+    void parallelStreamMatchesSequential() {
+        RecordGenerator<User> users = UserGenerator.users(7);
+        List<User> sequential = users.stream(100_000).collect(Collectors.toList());
+        List<User> parallel = users.stream(100_000).parallel().collect(Collectors.toList());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void recordsDependOnlyOnTheirIndex() {
+        RecordGenerator<Task> tasks = TaskGenerator.tasks(3);
+        List<Task> all = tasks.stream(5_000).collect(Collectors.toList());
+        List<Task> tail = tasks.stream(4_000, 5_000).collect(Collectors.toList());
+        for (int i = 0; i < tail.size(); i++) {
+            assertEquals(all.get(4_000 + i).toString(), tail.get(i).toString());
+        }
+        assertEquals(all.get(1_234).toString(), tasks.get(1_234).toString());
+    }
+
+    @Test
+    void taskIndexesStopAtTheIntRange() {
+        RecordGenerator<Task> tasks = TaskGenerator.tasks(3);
+        assertNotNull(tasks.get(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> tasks.get(Integer.MAX_VALUE + 1L));
+    }
+
+    @Test
+    void streamIsLazy() {
+        // far more records than could ever fit in memory; only three are made
+        assertEquals(3, UserGenerator.users(1).stream(Long.MAX_VALUE).limit(3).count());
+    }
+
+    @Test
+    void namesAndCitiesRepeatLikeRealData() {
+        Map<String, Long> cities = UserGenerator.users(5).stream(100_000)
+                .collect(Collectors.groupingBy(User::getCity, Collectors.counting()));
+        assertTrue(cities.size() <= 20);
+        // the first city in the table is the most common
+        assertEquals("Zap", cities.entrySet().stream()
+                .max(Map.Entry.comparingByValue()).orElseThrow().getKey());
+        assertTrue(UserGenerator.users(5).stream(100_000)
+                .allMatch(u -> u.getAge() >= 1 && u.getAge() <= 90));
+    }
+
+    @Test
+    void writeThenReadRoundTrips() throws IOException {
+        Path file = Files.createTempFile("users", ".bin");
+        try {
+            RecordGenerator<User> users = UserGenerator.users(11);
+            users.write(file, 70_000, UserGenerator.FORMAT);  // more than one parallel chunk
+            try (Stream<User> read = RecordGenerator.read(file, UserGenerator.FORMAT)) {
+                assertEquals(users.stream(70_000).collect(Collectors.toList()), read.collect(Collectors.toList()));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void otherRecordTypesRoundTrip() throws IOException {
+        Path file = Files.createTempFile("records", ".bin");
+        try {
+            TaskGenerator.tasks(1).write(file, 1_000, TaskGenerator.FORMAT);
+            try (Stream<Task> read = RecordGenerator.read(file, TaskGenerator.FORMAT)) {
+                // Task has no equals
+                assertEquals(TaskGenerator.tasks(1).stream(1_000).map(Task::toString).collect(Collectors.toList()),
+                        read.map(Task::toString).collect(Collectors.toList()));
+            }
+
+            GolferGenerator.golfers(1).write(file, 1_000, GolferGenerator.FORMAT);
+            try (Stream<Golfer> read = RecordGenerator.read(file, GolferGenerator.FORMAT)) {
+                assertEquals(GolferGenerator.golfers(1).stream(1_000).collect(Collectors.toList()),
+                        read.collect(Collectors.toList()));
+            }
+
+            EmployeeGenerator.employees(1).write(file, 1_000, EmployeeGenerator.FORMAT);
+            try (Stream<Employee> read = RecordGenerator.read(file, EmployeeGenerator.FORMAT)) {
+                assertEquals(EmployeeGenerator.employees(1).stream(1_000).collect(Collectors.toList()),
+                        read.collect(Collectors.toList()));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void rejectsFilesItDidNotWrite() throws IOException {
+        Path file = Files.createTempFile("junk", ".bin");
+        try {
+            Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+            assertThrows(IOException.class, () -> RecordGenerator.read(file, UserGenerator.FORMAT));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
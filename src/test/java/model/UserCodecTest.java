@@ -0,0 +1,115 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCodecTest {
+    private final List<User> users = UserGenerator.users(17).stream(10_000).collect(Collectors.toList());
+
+    @Test
+    void plainAndDictionaryBlocksRoundTrip() {
+        for (UserCodec codec : List.of(UserCodec.plain(), UserCodec.dictionary())) {
+            ByteBuffer block = codec.encode(users);
+            assertEquals(users, UserCodec.decode(block));
+            assertFalse(block.hasRemaining());
+        }
+    }
+
+    @Test
+    void nullsOddAgesAndNonAsciiSurvive() {
+        List<User> odd = List.of(
+                new User("Fred", 36),  // null last name and city
+                new User(null, null, 0, null),
+                new User("Zoë", "Ångström", -5, "Zürich"),
+                new User("", "", Integer.MAX_VALUE, ""),
+                new User("名", "姓", Integer.MIN_VALUE, "東京"));
+        for (UserCodec codec : List.of(UserCodec.plain(), UserCodec.dictionary())) {
+            assertEquals(odd, UserCodec.decode(codec.encode(odd)));
+        }
+    }
+
+    @Test
+    void dictionaryBlocksAreSmallerAndShareStrings() {
+        int plain = UserCodec.plain().encode(users).remaining();
+        int dictionary = UserCodec.dictionary().encode(users).remaining();
+        assertTrue(dictionary < plain * 0.75, dictionary + " vs " + plain);
+
+        List<User> decoded = UserCodec.decode(UserCodec.dictionary().encode(users));
+        User a = decoded.stream().filter(u -> u.getCity().equals("Zap")).findFirst().orElseThrow();
+        User b = decoded.stream().filter(u -> u.getCity().equals("Zap")).skip(1).findFirst().orElseThrow();
+        assertSame(a.getCity(), b.getCity());
+    }
+
+    @Test
+    void encodesIntoCallersBuffer() {
+        ByteBuffer out = ByteBuffer.allocateDirect(1 << 20);
+        UserCodec.dictionary().encode(users.subList(0, 100), out);
+        UserCodec.plain().encode(users.subList(100, 200), out);
+        out.flip();
+        List<User> decoded = new ArrayList<>(UserCodec.decode(out));
+        decoded.addAll(UserCodec.decode(out));
+        assertEquals(users.subList(0, 200), decoded);
+
+        assertThrows(BufferOverflowException.class,
+                () -> UserCodec.plain().encode(users, ByteBuffer.allocate(16)));
+    }
+
+    @Test
+    void filesRoundTripThroughMappedBlocks() throws IOException {
+        Path file = Files.createTempFile("users", ".bin");
+        try {
+            UserCodec codec = UserCodec.dictionary().withBlockRecords(1_000);
+            codec.write(file, users.stream());
+            assertEquals(users.size(), UserCodec.count(file));
+            try (Stream<User> read = UserCodec.read(file)) {
+                assertEquals(users, read.collect(Collectors.toList()));
+            }
+            try (Stream<User> read = UserCodec.read(file)) {
+                assertEquals(users, read.parallel().collect(Collectors.toList()));
+            }
+
+            UserCodec.plain().write(file, Stream.empty());
+            assertEquals(0, UserCodec.count(file));
+            try (Stream<User> read = UserCodec.read(file)) {
+                assertEquals(0, read.count());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void rejectsCorruptFiles() throws IOException {
+        Path file = Files.createTempFile("users", ".bin");
+        try {
+            Files.write(file, new byte[]{1, 2, 3, 4});
+            assertThrows(IOException.class, () -> UserCodec.read(file));
+
+            UserCodec.plain().write(file, users.stream().limit(10));
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length - 3));
+            assertThrows(IOException.class, () -> UserCodec.count(file));
+
+            // a block length that would not move forward, or would move backwards
+            for (int length : new int[]{-4, -100, 0}) {
+                java.nio.ByteBuffer.wrap(bytes).putInt(Integer.BYTES, length);
+                Files.write(file, bytes);
+                assertThrows(IOException.class, () -> UserCodec.count(file));
+                assertThrows(IOException.class, () -> UserCodec.read(file));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
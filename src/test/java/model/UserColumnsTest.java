@@ -0,0 +1,74 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.*;
+import static model.UserColumns.Column.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserColumnsTest {
+    // big enough to take the parallel chunked paths
+    private final List<User> users = UserGenerator.users(23).stream(200_000).collect(Collectors.toList());
+    private final UserColumns columns = UserColumns.of(users);
+
+    @Test
+    void rowsReadBackAsTheOriginalUsers() {
+        assertEquals(users.size(), columns.size());
+        for (int row = 0; row < users.size(); row += 997) {
+            assertEquals(users.get(row), columns.get(row));
+            assertEquals(users.get(row).getCity(), columns.value(CITY, row));
+            assertEquals(users.get(row).getAge(), columns.age(row));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.get(users.size()));
+    }
+
+    @Test
+    void countByMatchesGroupingBy() {
+        assertEquals(users.stream().collect(groupingBy(User::getCity, counting())), columns.countBy(CITY));
+        assertEquals(users.stream().collect(groupingBy(User::getLastName, counting())), columns.countBy(LAST_NAME));
+        assertEquals(users.stream().map(User::getCity).distinct().count(), columns.cardinality(CITY));
+    }
+
+    @Test
+    void averageAgeByMatchesStreams() {
+        Map<String, Double> expected = users.stream().collect(groupingBy(User::getCity, averagingInt(User::getAge)));
+        Map<String, Double> actual = columns.averageAgeBy(CITY);
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((city, average) -> assertEquals(average, actual.get(city), 1e-9));
+    }
+
+    @Test
+    void filtersFindAllJetsons() {
+        List<User> jetsons = users.stream().filter(u -> u.getLastName().equals("Jetson")).collect(toList());
+        assertFalse(jetsons.isEmpty());
+        assertEquals(jetsons, columns.usersWhere(LAST_NAME, "Jetson"));
+        assertEquals(jetsons.size(), columns.count(LAST_NAME, "Jetson"));
+        assertArrayEquals(IntStream.range(0, users.size())
+                        .filter(i -> users.get(i).getLastName().equals("Jetson")).toArray(),
+                columns.rowsWhere(LAST_NAME, "Jetson"));
+
+        assertEquals(-1, columns.code(CITY, "Atlantis"));
+        assertEquals(0, columns.rowsWhere(CITY, "Atlantis").length);
+        assertEquals(0, columns.count(CITY, "Atlantis"));
+        assertTrue(columns.usersWhere(CITY, "Atlantis").isEmpty());
+    }
+
+    @Test
+    void nullsAreJustAnotherValue() {
+        UserColumns small = UserColumns.builder(2)
+                .add(new User("Fred", 36))
+                .add("Wilma", "Flintstone", 34, "Bedrock")
+                .add(new User("Pebbles", 1))
+                .build();
+        assertEquals(2, small.count(CITY, null));
+        assertEquals(new User("Fred", 36), small.get(0));
+        Map<String, Long> byLastName = small.countBy(LAST_NAME);
+        assertEquals(2L, byLastName.get(null));
+        assertEquals(1L, byLastName.get("Flintstone"));
+    }
+}
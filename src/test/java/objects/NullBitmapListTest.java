@@ -0,0 +1,93 @@
+package objects;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class NullBitmapListTest {
+
+    private static List<Integer> withNulls(int n, double nullRate, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Integer> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(random.nextDouble() < nullRate ? null : i);
+        }
+        return list;
+    }
+
+    private static List<Integer> filtered(List<Integer> list) {
+        return list.stream().filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Test
+    public void compactMatchesStreamFilter() {
+        // small lists compact sequentially, big ones in parallel
+        for (int n : new int[]{0, 1, 63, 64, 65, 1_000, NullBitmapList.PARALLEL_THRESHOLD, 300_001}) {
+            for (double nullRate : new double[]{0, 0.01, 0.5, 0.99, 1}) {
+                List<Integer> list = withNulls(n, nullRate, n);
+                NullBitmapList<Integer> bitmap = NullBitmapList.copyOf(list);
+                List<Integer> expected = filtered(list);
+                assertEquals(list, bitmap);
+                assertEquals(expected.size(), bitmap.nonNullCount());
+                assertEquals(n - expected.size(), bitmap.nullCount());
+                assertEquals(expected, bitmap.compact());
+            }
+        }
+    }
+
+    @Test
+    public void nonNullViewIteratesAndIndexesWithoutCopying() {
+        List<Integer> list = withNulls(10_000, 0.7, 3);
+        List<Integer> expected = filtered(list);
+        List<Integer> view = NullBitmapList.copyOf(list).nonNulls();
+
+        assertEquals(expected.size(), view.size());
+        assertEquals(expected, new ArrayList<>(view));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), view.get(i));
+        }
+        List<Integer> visited = new ArrayList<>();
+        view.forEach(visited::add);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    public void setKeepsTheBitmapAndViewInStep() {
+        NullBitmapList<String> list = NullBitmapList.copyOf(Arrays.asList("a", null, "c", null));
+        List<String> view = list.nonNulls();
+        assertEquals(Arrays.asList("a", "c"), view);
+        assertTrue(list.isNull(1));
+
+        assertEquals(null, list.set(1, "b"));
+        assertEquals("a", list.set(0, null));
+        assertEquals("c", list.set(2, "C"));
+
+        assertFalse(list.isNull(1));
+        assertTrue(list.isNull(0));
+        assertEquals(2, list.nonNullCount());
+        assertEquals(Arrays.asList("b", "C"), view);
+        assertEquals("C", view.get(1));
+        assertEquals(Arrays.asList("b", "C"), list.compact());
+    }
+
+    @Test
+    public void viewRejectsIndexesPastTheNonNulls() {
+        List<String> view = NullBitmapList.copyOf(Arrays.asList(null, "x", null)).nonNulls();
+        try {
+            view.get(1);
+            fail("expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            // the list has three elements but only one non-null
+        }
+    }
+}
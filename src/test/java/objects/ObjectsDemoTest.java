@@ -41,4 +41,12 @@ public class ObjectsDemoTest {
         nonNullElements.forEach(r ->
             assertTrue(Objects.nonNull(r)));
     }
+
+    @Test
+    public void bitmapPathsMatchTheStreamFilter() {
+        List<String> strings = Arrays.asList("this", "is", "a", null, "list", "of", null, "strings");
+        List<String> expected = demo.getNonNullElements(strings);
+        assertTrue(Objects.deepEquals(expected, demo.getNonNullElementsCompacted(strings)));
+        assertTrue(Objects.deepEquals(expected, demo.getNonNullView(strings)));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package optionals;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentOptionalMapTest {
+
+    @Test
+    void basicOperations() {
+        ConcurrentOptionalMap<String, Integer> map = new ConcurrentOptionalMap<>();
+        map.put("a", 1);
+        map.putAll(Map.of("b", 2, "c", 3));
+        map.remove("c");
+
+        assertEquals(Optional.of(1), map.get("a"));
+        assertEquals(Optional.empty(), map.get("c"));
+        assertEquals(999, (int) map.getOrDefault("d", 999));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void snapshotsAreImmutableAndStable() {
+        ConcurrentOptionalMap<String, Integer> map = new ConcurrentOptionalMap<>();
+        map.put("a", 1);
+        Map<String, Integer> before = map.getMap();
+        map.put("b", 2);
+
+        assertEquals(Map.of("a", 1), before);
+        assertEquals(Map.of("a", 1, "b", 2), map.getMap());
+        assertThrows(UnsupportedOperationException.class, () -> before.put("x", 0));
+    }
+
+    @Test
+    void updateDoesNotPublishTheMapItHandsOut() {
+        ConcurrentOptionalMap<String, Integer> map = new ConcurrentOptionalMap<>();
+        List<Map<String, Integer>> leaked = new ArrayList<>();
+        map.update(m -> {
+            m.put("a", 1);
+            leaked.add(m);
+        });
+        leaked.get(0).put("b", 2);
+        leaked.get(0).remove("a");
+
+        assertEquals(Map.of("a", 1), map.getMap());
+        assertEquals(Optional.of(1), map.get("a"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void readersNeverSeeHalfABatch() throws InterruptedException {
+        ConcurrentOptionalMap<Integer, Integer> map = new ConcurrentOptionalMap<>();
+        Thread writer = new Thread(() -> {
+            for (int round = 0; round < 2_000; round++) {
+                int value = round;
+                map.update(m -> IntStream.range(0, 10).forEach(k -> m.put(k, value)));
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            Map<Integer, Integer> snapshot = map.getMap();
+            if (!snapshot.isEmpty()) {
+                assertEquals(10, snapshot.size());
+                assertEquals(1, snapshot.values().stream().distinct().count());
+            }
+        }
+        writer.join();
+        assertEquals(Optional.of(1_999), map.get(9));
+    }
+
+    @Test
+    void concurrentWritersDoNotLoseUpdates() {
+        ConcurrentOptionalMap<Integer, Integer> map = new ConcurrentOptionalMap<>();
+        IntStream.range(0, 2_000)
+                .parallel()
+                .forEach(i -> map.put(i, i));
+        assertEquals(2_000, map.size());
+    }
+}
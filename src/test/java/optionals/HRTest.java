@@ -5,8 +5,10 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
 
@@ -76,4 +78,131 @@ public class HRTest {
         sampleEmployees.forEach(e -> assertTrue(emps.contains(e)));
     }
 
+    @Test
+    public void findEmployeesByIdsBatch() {
+        int[] ids = sampleEmployees.stream()
+                .mapToInt(Employee::getId)
+                .toArray();
+        int[] withMissing = Arrays.copyOf(ids, ids.length + 1);
+        withMissing[ids.length] = -1;
+
+        assertEquals(sampleEmployees, hr.findEmployeesByIds(withMissing));
+    }
+
+    @Test
+    public void hireListCountsOnlyNewHires() {
+        assertEquals(0, hr.hire(sampleEmployees));
+        assertEquals(1, hr.hire(Arrays.asList(sampleEmployees.get(0), new Employee("Inara Serra"))));
+        assertEquals(sampleEmployees.size() + 1, hr.size());
+    }
+
+    @Test
+    public void hireListRejectsDuplicateIdsAndHiresNone() {
+        Employee inara = new Employee("Inara Serra");
+        try {
+            hr.hire(Arrays.asList(inara, new Employee("Shepherd Book"), inara));
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+            assertEquals(sampleEmployees.size(), hr.size());
+        }
+    }
+
+    @Test
+    public void findEmployeesByNamePrefix() {
+        List<Employee> washburnes = hr.findEmployeesByNamePrefix("Hoban");
+        assertEquals(Arrays.asList(sampleEmployees.get(2)), washburnes);
+
+        assertEquals(Arrays.asList(sampleEmployees.get(3), sampleEmployees.get(4)),
+                hr.findEmployeesByNameRange("J", "L"));
+        assertTrue(hr.findEmployeesByNamePrefix("River").isEmpty());
+    }
+
+    @Test
+    public void findEmployeesByIdRange() {
+        int from = sampleEmployees.get(1).getId();
+        int to = sampleEmployees.get(3).getId() + 1;
+        assertEquals(sampleEmployees.subList(1, 4), hr.findEmployeesByIdRange(from, to));
+        assertTrue(hr.findEmployeesByIdRange(from, from).isEmpty());
+    }
+
+    @Test
+    public void indexesFollowFireAndRename() {
+        Employee jayne = sampleEmployees.get(3);
+        assertEquals(1, hr.rename(jayne.getId(), "Hero of Canton"));
+        assertTrue(hr.findEmployeesByNamePrefix("Jayne").isEmpty());
+        assertEquals(Arrays.asList(jayne), hr.findEmployeesByNamePrefix("Hero"));
+
+        hr.fire(jayne.getId());
+        assertTrue(hr.findEmployeesByNamePrefix("Hero").isEmpty());
+        assertTrue(hr.findEmployeesByIdRange(jayne.getId(), jayne.getId() + 1).isEmpty());
+    }
+
+    @Test
+    public void indexMatchesFullScan() {
+        assertEquals(hr.findEmployees(e -> e.getName().startsWith("Z")),
+                hr.findEmployeesByNamePrefix("Z"));
+    }
+
+    @Test
+    public void fireMany() {
+        int[] ids = sampleEmployees.stream()
+                .mapToInt(Employee::getId)
+                .toArray();
+        assertEquals(ids.length, hr.fire(ids));
+        assertEquals(0, hr.fire(ids));
+        assertEquals(0, hr.size());
+    }
+
+    @Test
+    public void concurrentWritesKeepIndexesInStep() {
+        List<Employee> workers = IntStream.range(0, 4_000)
+                .mapToObj(i -> new Employee("Worker " + i))
+                .collect(Collectors.toList());
+        IntStream.range(0, workers.size()).parallel().forEach(i -> {
+            Employee worker = workers.get(i);
+            hr.hire(worker);
+            hr.findEmployeesByNamePrefix("Worker 1");  // readers run alongside writers
+            if (i % 2 == 0) {
+                hr.rename(worker.getId(), "Renamed " + i);
+            }
+            if (i % 3 == 0) {
+                hr.fire(worker.getId());
+            }
+        });
+
+        Comparator<Employee> byId = Comparator.comparingInt(Employee::getId);
+        for (String prefix : Arrays.asList("Worker", "Renamed")) {
+            List<Employee> indexed = hr.findEmployeesByNamePrefix(prefix);
+            indexed.sort(byId);
+            List<Employee> scanned = hr.findEmployees(e -> e.getName().startsWith(prefix));
+            scanned.sort(byId);
+            assertEquals(scanned, indexed);
+        }
+        int fired = (workers.size() + 2) / 3;  // every i % 3 == 0
+        assertEquals(sampleEmployees.size() + workers.size() - fired, hr.size());
+    }
+
+
+    @Test
+    public void queriesNeverMissAnEmployeeBeingRenamed() throws InterruptedException {
+        Employee river = new Employee("Alpha River");
+        hr.hire(river);
+        Thread renamer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                hr.rename(river.getId(), i % 2 == 0 ? "Beta River" : "Aardvark River");
+            }
+        });
+        renamer.start();
+        while (renamer.isAlive()) {
+            // River is always in [A, C), under one name or the other
+            long found = hr.findEmployeesByNameRange("A", "C").stream()
+                    .filter(e -> e.getId() == river.getId())
+                    .count();
+            assertEquals(1, found);
+            assertEquals(1, hr.findEmployeesByIdRange(river.getId(), river.getId() + 1).size());
+        }
+        renamer.join();
+        assertEquals("Aardvark River", hr.findEmployeeById(river.getId()).get().getName());
+        assertEquals("Alpha River", river.getName());  // the hired instance is never changed
+    }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package optionals;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdAllocatorTest {
+
+    @Test
+    void sequentialWithinOneThread() {
+        IdAllocator allocator = new IdAllocator(10, 4);
+        int[] ids = IntStream.range(0, 10).map(i -> allocator.nextId()).toArray();
+        assertArrayEquals(IntStream.range(10, 20).toArray(), ids);
+        assertEquals(20, allocator.peekNextId());
+    }
+
+    @Test
+    void uniqueAcrossThreads() throws InterruptedException {
+        IdAllocator allocator = new IdAllocator(0, 64);
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        Thread[] threads = new Thread[16];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    assertTrue(seen.add(allocator.nextId()));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(16 * 50_000, seen.size());
+    }
+
+    @Test
+    void resetInvalidatesCurrentBlock() {
+        IdAllocator allocator = new IdAllocator();
+        allocator.nextId();
+        allocator.nextId();
+        allocator.reset(100);
+        assertEquals(100, allocator.peekNextId());
+        assertEquals(100, allocator.nextId());
+        assertEquals(101, allocator.nextId());
+    }
+
+    @Test
+    void employeesGetDistinctIdsWhenBuiltInParallel() {
+        long distinct = IntStream.range(0, 100_000)
+                .parallel()
+                .mapToObj(i -> new Employee("Employee " + i))
+                .mapToInt(Employee::getId)
+                .distinct()
+                .count();
+        assertEquals(100_000, distinct);
+    }
+
+    @Test
+    void rejectsBadBlockSize() {
+        assertThrows(IllegalArgumentException.class, () -> new IdAllocator(0, 0));
+    }
+}
@@ -0,0 +1,79 @@
+package optionals;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveOptionalMapsTest {
+
+    @Test
+    void intObjectMap() {
+        IntObjectOptionalMap<String> map = new IntObjectOptionalMap<>();
+        for (int i = -500; i < 500; i++) {
+            map.put(i, "v" + i);
+        }
+        map.put(7, "seven");
+
+        assertEquals(1000, map.size());
+        assertEquals(Optional.of("seven"), map.get(7));
+        assertEquals(Optional.empty(), map.get(1000));
+        assertEquals("v-500", map.getOrDefault(-500, "none"));
+        assertEquals("none", map.getOrDefault(1000, "none"));
+        assertTrue(map.containsKey(0));
+
+        List<String> seen = new ArrayList<>();
+        assertTrue(map.ifPresent(42, seen::add));
+        assertFalse(map.ifPresent(4242, seen::add));
+        assertEquals(List.of("v42"), seen);
+    }
+
+    @Test
+    void longLongMap() {
+        LongLongOptionalMap map = new LongLongOptionalMap(4);
+        for (long i = 0; i < 10_000; i++) {
+            map.put(i * 1_000_003L, i);
+        }
+        map.put(Long.MIN_VALUE, -1);
+
+        assertEquals(10_001, map.size());
+        assertEquals(OptionalLong.of(5), map.get(5 * 1_000_003L));
+        assertEquals(OptionalLong.of(-1), map.get(Long.MIN_VALUE));
+        assertEquals(OptionalLong.empty(), map.get(1));
+        assertEquals(99L, map.getOrDefault(1, 99));
+
+        long[] sum = {0};
+        assertTrue(map.ifPresent(3 * 1_000_003L, v -> sum[0] += v));
+        assertEquals(3, sum[0]);
+    }
+
+    @Test
+    void objectIntMap() {
+        ObjectIntOptionalMap<String> map = new ObjectIntOptionalMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            map.put("key" + i, i);
+        }
+        map.put("key3", 33);
+
+        assertEquals(1_000, map.size());
+        assertEquals(OptionalInt.of(33), map.get("key3"));
+        assertEquals(OptionalInt.empty(), map.get("missing"));
+        assertEquals(-1, map.getOrDefault("missing", -1));
+        assertFalse(map.ifPresent("missing", v -> fail("should not run")));
+        assertThrows(NullPointerException.class, () -> map.put(null, 1));
+    }
+
+    @Test
+    void optionalMapAllocationFreePaths() {
+        OptionalMap<String, Integer> map = new OptionalMap<>();
+        map.put("a", 1);
+        assertEquals(1, (int) map.getOrDefault("a", 999));
+        assertEquals(999, (int) map.getOrDefault("d", 999));
+        assertFalse(map.ifPresent("d", v -> fail("should not run")));
+    }
+}
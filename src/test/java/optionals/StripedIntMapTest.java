@@ -0,0 +1,79 @@
+package optionals;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedIntMapTest {
+
+    @Test
+    void putGetRemove() {
+        StripedIntMap<String> map = new StripedIntMap<>();
+        assertNull(map.put(1, "one"));
+        assertEquals("one", map.put(1, "uno"));
+        assertNull(map.putIfAbsent(-7, "minus seven"));
+        assertEquals("minus seven", map.putIfAbsent(-7, "other"));
+
+        assertEquals("uno", map.get(1));
+        assertEquals("minus seven", map.get(-7));
+        assertNull(map.get(0));
+        assertEquals("zero", map.getOrDefault(0, "zero"));
+        assertEquals(2, map.size());
+
+        assertEquals("uno", map.remove(1));
+        assertNull(map.remove(1));
+        assertFalse(map.containsKey(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void nullValuesRejected() {
+        assertThrows(NullPointerException.class, () -> new StripedIntMap<String>().put(1, null));
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        // one stripe and a small table force long probe chains and resizes
+        StripedIntMap<Integer> map = new StripedIntMap<>(0, 1);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(5_000) - 2_500;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        expected.forEach((k, v) -> assertEquals(v, map.get(k)));
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+    }
+
+    @Test
+    void concurrentPutsAreAllVisible() {
+        StripedIntMap<Integer> map = new StripedIntMap<>();
+        IntStream.range(0, 100_000)
+                .parallel()
+                .forEach(i -> map.put(i, i));
+        assertEquals(100_000, map.size());
+        IntStream.range(0, 100_000)
+                .parallel()
+                .forEach(i -> assertEquals(i, (int) map.get(i)));
+    }
+
+    @Test
+    void clearEmptiesAllStripes() {
+        StripedIntMap<Integer> map = new StripedIntMap<>(1_000);
+        IntStream.range(0, 1_000).forEach(i -> map.put(i, i));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(5));
+    }
+}
@@ -0,0 +1,67 @@
+package sorting;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.ToIntFunction;
+
+import static java.util.Comparator.reverseOrder;
+import static org.junit.Assert.*;
+
+public class KeyComparatorTest {
+    private static final ToIntFunction<Golfer> SCORE = Golfer::getScore;
+
+    private List<Golfer> golfers(int n) {
+        SplittableRandom random = new SplittableRandom(11);
+        String[] names = {"Tiger", "Jack", "Tom", "Ty", "Bubba", "Rory", "Annika"};
+        List<Golfer> golfers = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            golfers.add(new Golfer(names[random.nextInt(names.length)],
+                    names[random.nextInt(names.length)], 65 + random.nextInt(10)));
+        }
+        return golfers;
+    }
+
+    @Test
+    public void matchesChainedComparator() {
+        Comparator<Golfer> chained = Comparator.comparingInt(Golfer::getScore)
+                .thenComparing(Golfer::getLast, reverseOrder())
+                .thenComparing(Golfer::getFirst);
+        KeyComparator<Golfer> flat = KeyComparator.comparingInt(SCORE)
+                .thenComparing(Golfer::getLast).descending()
+                .thenComparing(Golfer::getFirst)
+                .build();
+
+        List<Golfer> golfers = golfers(10_000);
+        for (int i = 1; i < golfers.size(); i++) {
+            assertEquals(Integer.signum(chained.compare(golfers.get(i - 1), golfers.get(i))),
+                    Integer.signum(flat.compare(golfers.get(i - 1), golfers.get(i))));
+        }
+
+        List<Golfer> expected = new ArrayList<>(golfers);
+        expected.sort(chained);
+        List<Golfer> viaComparator = new ArrayList<>(golfers);
+        viaComparator.sort(flat);
+        List<Golfer> viaColumns = new ArrayList<>(golfers);
+        flat.sort(viaColumns);
+        // identical instances, so the sort is stable like List.sort
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), viaComparator.get(i));
+            assertSame(expected.get(i), viaColumns.get(i));
+        }
+    }
+
+    @Test
+    public void wholeElementComparator() {
+        KeyComparator<String> comparator = KeyComparator.<String>comparingInt(String::length)
+                .thenComparing(reverseOrder())
+                .build();
+        String[] strings = {"this", "is", "a", "list", "of", "strings"};
+        comparator.sort(strings);
+        assertArrayEquals(new String[]{"a", "of", "is", "this", "list", "strings"}, strings);
+    }
+}
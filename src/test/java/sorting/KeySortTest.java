@@ -0,0 +1,71 @@
+package sorting;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class KeySortTest {
+
+    private Golfer[] golfers(int n, int minScore, int maxScore) {
+        SplittableRandom random = new SplittableRandom(n);
+        Golfer[] golfers = new Golfer[n];
+        for (int i = 0; i < n; i++) {
+            golfers[i] = new Golfer("First" + i, "Last" + i, random.nextInt(minScore, maxScore));
+        }
+        return golfers;
+    }
+
+    // expected order from the stable TimSort in Arrays.sort
+    private void check(Golfer[] golfers) {
+        Golfer[] expected = golfers.clone();
+        Arrays.sort(expected, Comparator.comparingInt(Golfer::getScore));
+
+        Golfer[] sequential = golfers.clone();
+        KeySort.sortByInt(sequential, Golfer::getScore);
+        assertArrayEquals(expected, sequential);
+        // Golfer.equals ignores the score, so also check the elements are the same instances
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getScore(), sequential[i].getScore());
+        }
+
+        Golfer[] parallel = golfers.clone();
+        KeySort.parallelSortByInt(parallel, Golfer::getScore);
+        assertArrayEquals(expected, parallel);
+    }
+
+    @Test
+    public void countingSortForSmallRange() {
+        check(golfers(300_000, 60, 90));
+    }
+
+    @Test
+    public void radixSortForWideRange() {
+        check(golfers(300_000, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        check(golfers(5_000, -1_000_000, 1_000_000));
+    }
+
+    @Test
+    public void shortAndSortedInputs() {
+        check(golfers(10, 60, 90));
+        check(golfers(0, 60, 90));
+        Golfer[] sorted = golfers(1_000, 60, 90);
+        Arrays.sort(sorted, Comparator.comparingInt(Golfer::getScore));
+        check(sorted);
+    }
+
+    @Test
+    public void sortsListsInPlace() {
+        List<String> words = new ArrayList<>(Arrays.asList("this", "is", "a", "list", "of", "strings"));
+        List<String> expected = new ArrayList<>(words);
+        expected.sort(Comparator.comparingInt(String::length));
+        KeySort.sortByInt(words, String::length);
+        assertEquals(expected, words);
+    }
+}
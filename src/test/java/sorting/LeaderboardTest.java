@@ -0,0 +1,93 @@
+package sorting;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class LeaderboardTest {
+
+    @Test
+    public void ranksShareTiesAndFollowUpdates() {
+        Leaderboard board = new Leaderboard(50, 100);
+        int jack = board.add(new Golfer("Jack", "Nicklaus", 68));
+        int tiger = board.add(new Golfer("Tiger", "Woods", 70));
+        int tom = board.add(new Golfer("Tom", "Watson", 70));
+        int ty = board.add(new Golfer("Ty", "Webb", 68));
+
+        assertEquals(1, board.rank(jack));
+        assertEquals(1, board.rank(ty));
+        assertEquals(3, board.rank(tiger));
+        assertEquals(3, board.rank(tom));
+
+        board.updateScore(tiger, 65);
+        assertEquals(1, board.rank(tiger));
+        assertEquals(2, board.rank(jack));
+        assertEquals(4, board.rank(tom));
+        assertEquals(3, board.countAtOrBetter(68));
+        assertEquals("Woods", board.top(1).get(0).getLast());
+        assertEquals(65, board.score(tiger));
+    }
+
+    @Test
+    public void matchesSortedScores() {
+        SplittableRandom random = new SplittableRandom(3);
+        Leaderboard board = new Leaderboard(60, 90);
+        int[] scores = new int[10_000];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = 60 + random.nextInt(31);
+            board.add("F" + i, "L" + (i % 100), scores[i]);
+        }
+        for (int i = 0; i < 5_000; i++) {
+            int player = random.nextInt(scores.length);
+            scores[player] = 60 + random.nextInt(31);
+            board.updateScore(player, scores[player]);
+        }
+        int[] sorted = scores.clone();
+        Arrays.sort(sorted);
+        for (int player = 0; player < scores.length; player += 97) {
+            int better = 0;
+            while (sorted[better] < scores[player]) {
+                better++;
+            }
+            assertEquals(better + 1, board.rank(player));
+        }
+        int[] top = board.topPlayers(500);
+        for (int i = 0; i < top.length; i++) {
+            assertEquals(sorted[i], scores[top[i]]);
+        }
+    }
+
+    @Test
+    public void readsDuringUpdates() throws InterruptedException {
+        Leaderboard board = new Leaderboard(0, 1_000, 100_000);
+        for (int i = 0; i < 100_000; i++) {
+            board.add("F", "L", i % 1_000);
+        }
+        AtomicBoolean failed = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            SplittableRandom random = new SplittableRandom(5);
+            for (int i = 0; i < 200_000; i++) {
+                board.updateScore(random.nextInt(100_000), random.nextInt(1_001));
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            int rank = board.rank(42);
+            if (rank < 1 || rank > 100_000 || board.topPlayers(10).length != 10) {
+                failed.set(true);
+            }
+        }
+        writer.join();
+        assertFalse(failed.get());
+        assertEquals(100_000, board.countAtOrBetter(1_000));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsScoresOutOfRange() {
+        new Leaderboard(60, 90).add("Happy", "Gilmore", 120);
+    }
+}
@@ -3,9 +3,15 @@ package sorting;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class SortingMapsTest {
@@ -59,6 +65,75 @@ public class SortingMapsTest {
                 });
     }
 
+    @Test
+    public void viewsFollowUpdates() {
+        Map<String, Integer> byValue = sm.getMapSortedByValue();
+        Map<String, Integer> byKeyDesc = sm.getMapSortedByKeyDesc();
+
+        sm.put("f", 0);
+        sm.put("e", -1);
+        sm.remove("a");
+
+        assertEquals(Arrays.asList("e", "f", "d", "b", "c"), new ArrayList<>(byValue.keySet()));
+        assertEquals(Arrays.asList("f", "e", "d", "c", "b"), new ArrayList<>(byKeyDesc.keySet()));
+        assertEquals(Integer.valueOf(-1), byValue.get("e"));
+        assertEquals(5, byValue.size());
+        assertSame(byValue, sm.getMapSortedByValue());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void viewsAreReadOnly() {
+        sm.getMapSortedByValueDesc().put("z", 1);
+    }
+
+    @Test
+    public void largeMapModeMatchesIncremental() {
+        SortingMaps<Integer, Integer> large = SortingMaps.forLargeMaps();
+        SortingMaps<Integer, Integer> incremental = new SortingMaps<>();
+        Map<Integer, Integer> data = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            data.put(i * 7919 % 100_003, i % 1_000);
+        }
+        large.setMap(data);
+        incremental.setMap(data);
+
+        assertEquals(new ArrayList<>(incremental.getMapSortedByValue().entrySet()),
+                new ArrayList<>(large.getMapSortedByValue().entrySet()));
+        assertEquals(new ArrayList<>(incremental.getMapSortedByValueDesc().keySet()),
+                new ArrayList<>(large.getMapSortedByValueDesc().keySet()));
+        assertEquals(new ArrayList<>(incremental.getMapSortedByKeyDesc().values()),
+                new ArrayList<>(large.getMapSortedByKeyDesc().values()));
+        assertEquals(incremental.getMapSortedByValue().get(7919), large.getMapSortedByValue().get(7919));
+        assertEquals(incremental.getMapSortedByKey(), large.getMapSortedByKey());
+    }
+
+    @Test
+    public void largeMapModeSnapshotsUntilUpdated() {
+        SortingMaps<String, Integer> large = SortingMaps.forLargeMaps();
+        large.setMap(map);
+        Map<String, Integer> before = large.getMapSortedByValue();
+        assertSame(before, large.getMapSortedByValue());
+
+        large.put("z", 0);
+        assertEquals(5, before.size());
+        assertEquals("z", large.getMapSortedByValue().keySet().iterator().next());
+        assertEquals(Integer.valueOf(0), large.getMapSortedByKeyDesc().get("z"));
+        assertNull(large.getMapSortedByKey().get("y"));
+    }
+
+    @Test
+    public void largeMapModeGetMapIsASnapshot() {
+        SortingMaps<String, Integer> large = SortingMaps.forLargeMaps();
+        large.setMap(map);
+        Map<String, Integer> before = large.getMap();
+        assertEquals(map, before);
+
+        large.put("z", 0);
+        assertFalse(before.containsKey("z"));
+        assertEquals(Integer.valueOf(0), large.getMap().get("z"));
+        assertEquals(map.size() + 1, large.getMap().size());
+    }
+
     private <K,V> void printMap(Map<K,V> m) {
         m.forEach((k,v) -> System.out.println(k + ": " + v));
     }
@@ -0,0 +1,64 @@
+package streams;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitPartitionTest {
+    private final List<String> strings = Arrays.asList("this", "is", "a", "long", "list", "of",
+            "strings", "to", "use", "as", "a", "demo");
+
+    @Test
+    void matchesPartitioningBy() {
+        Predicate<String> even = s -> s.length() % 2 == 0;
+        Map<Boolean, List<String>> expected = strings.stream().collect(Collectors.partitioningBy(even));
+
+        BitPartition<String> partition = BitPartition.of(strings, even);
+        assertEquals(expected.get(true).size(), partition.count());
+        assertEquals(expected.get(false).size(), partition.countFalse());
+        assertEquals(expected.get(true), partition.trueView());
+        assertEquals(expected.get(false), partition.falseView());
+        assertEquals(expected.get(false).get(1), partition.falseView().get(1));
+    }
+
+    @Test
+    void chainedPredicatesAcrossWords() {
+        List<Integer> numbers = IntStream.range(0, 200_003).boxed().collect(Collectors.toList());
+        BitPartition<Integer> byTwo = BitPartition.of(numbers, n -> n % 2 == 0);
+        BitPartition<Integer> byThree = BitPartition.of(numbers, n -> n % 3 == 0);
+
+        List<Integer> both = numbers.stream().filter(n -> n % 6 == 0).collect(Collectors.toList());
+        List<Integer> either = numbers.stream().filter(n -> n % 2 == 0 || n % 3 == 0).collect(Collectors.toList());
+
+        assertEquals(both, byTwo.and(n -> n % 3 == 0).trueView());
+        assertEquals(both, byTwo.and(byThree).trueView());
+        assertEquals(either, byTwo.or(n -> n % 3 == 0).trueView());
+        assertEquals(either, byTwo.or(byThree).trueView());
+        assertEquals(either.size(), byTwo.or(byThree).negate().countFalse());
+        assertEquals(Integer.valueOf(199_998), byTwo.and(byThree).trueView().get(both.size() - 1));
+        assertEquals(Integer.valueOf(200_001), byTwo.falseView().get(byTwo.countFalse() - 1));
+    }
+
+    @Test
+    void collectorMatchesOfInParallel() {
+        List<Integer> numbers = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+        BitPartition<Integer> collected = numbers.parallelStream()
+                .collect(BitPartition.partitioningBy(n -> n % 7 == 0));
+        assertEquals(BitPartition.of(numbers, n -> n % 7 == 0).trueView(), collected.trueView());
+        assertEquals(numbers.size(), collected.size());
+    }
+
+    @Test
+    void rejectsDifferentSources() {
+        BitPartition<String> a = BitPartition.of(strings, s -> true);
+        BitPartition<String> b = BitPartition.of(Arrays.asList("x"), s -> true);
+        assertThrows(IllegalArgumentException.class, () -> a.and(b));
+    }
+}
@@ -0,0 +1,64 @@
+package streams;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupedAggregationTest {
+    private final List<Employee> employees = Arrays.asList(
+            new Employee("Cersei", 250_000, "Lannister"),
+            new Employee("Jamie", 150_000, "Lannister"),
+            new Employee("Tyrion", 1_000, "Lannister"),
+            new Employee("Tywin", 1_000_000, "Lannister"),
+            new Employee("Jon Snow", 75_000, "Stark"),
+            new Employee("Robb", 120_000, "Stark"),
+            new Employee("Eddard", 125_000, "Stark"),
+            new Employee("Sansa", 0, "Stark"),
+            new Employee("Arya", 1_000, "Stark"));
+
+    @Test
+    void summarizesEachDepartment() {
+        Map<String, IntGroupStats<Employee>> stats = employees.stream()
+                .collect(GroupedAggregation.summarizingIntBy(Employee::getDepartment, Employee::getSalary));
+
+        IntGroupStats<Employee> lannister = stats.get("Lannister");
+        assertEquals(4, lannister.getCount());
+        assertEquals(1_401_000, lannister.getSum());
+        assertEquals(1_000, lannister.getMin());
+        assertEquals(1_000_000, lannister.getMax());
+        assertEquals("Tywin", lannister.getArgMax().getName());
+        assertEquals("Tyrion", lannister.getArgMin().getName());
+
+        IntGroupStats<Employee> stark = stats.get("Stark");
+        assertEquals(5, stark.getCount());
+        assertEquals("Eddard", stark.getArgMax().getName());
+        assertEquals("Sansa", stark.getArgMin().getName());
+    }
+
+    @Test
+    void parallelMatchesGroupingBy() {
+        List<Employee> many = IntStream.range(0, 200_000)
+                .mapToObj(i -> new Employee("E" + i, (i * 7919) % 100_003, "D" + (i % 997)))
+                .collect(Collectors.toList());
+
+        Map<String, Optional<Employee>> expected = many.stream()
+                .collect(Collectors.groupingBy(Employee::getDepartment,
+                        Collectors.maxBy(Comparator.comparingInt(Employee::getSalary))));
+        Map<String, IntGroupStats<Employee>> actual = many.parallelStream()
+                .collect(GroupedAggregation.summarizingIntBy(Employee::getDepartment,
+                        Employee::getSalary, 1_000));
+
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((dept, emp) ->
+                assertEquals(emp.get().getSalary().intValue(), actual.get(dept).getMax()));
+        assertEquals(many.size(), actual.values().stream().mapToLong(IntGroupStats::getCount).sum());
+    }
+}
@@ -0,0 +1,83 @@
+package streams;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedGroupingTest {
+    private final List<String> strings = Arrays.asList("this", "is", "a", "long", "list", "of",
+            "strings", "to", "use", "as", "a", "demo");
+
+    @Test
+    void groupingByMatchesCollectors() {
+        assertEquals(strings.stream().collect(Collectors.groupingBy(String::length)),
+                strings.stream().collect(PartitionedGrouping.groupingBy(String::length)));
+    }
+
+    @Test
+    void parallelGroupingKeepsEncounterOrder() {
+        List<Integer> numbers = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+        Map<Integer, List<Integer>> expected = numbers.stream()
+                .collect(Collectors.groupingBy(n -> n % 5_000));
+        Map<Integer, List<Integer>> actual = numbers.parallelStream()
+                .collect(PartitionedGrouping.groupingBy(n -> n % 5_000, 5_000));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void countingAndSummingAcrossCardinalities() {
+        for (int keys : new int[]{2, 1_000, 100_000}) {
+            List<Integer> numbers = IntStream.range(0, 300_000).boxed().collect(Collectors.toList());
+            Map<Integer, Long> counts = numbers.parallelStream()
+                    .collect(PartitionedGrouping.counting(n -> n % keys, keys));
+            Map<Integer, Integer> sums = numbers.parallelStream()
+                    .collect(PartitionedGrouping.summingInt(n -> n % keys, n -> n, keys));
+
+            assertEquals(numbers.stream().collect(Collectors.groupingBy(n -> n % keys, Collectors.counting())),
+                    counts);
+            assertEquals(numbers.stream().collect(Collectors.groupingBy(n -> n % keys,
+                    Collectors.summingInt(n -> n))), sums);
+        }
+    }
+
+    @Test
+    void resultIsReadOnly() {
+        Map<Integer, Long> counts = strings.stream()
+                .collect(PartitionedGrouping.counting(String::length, 8));
+        assertThrows(UnsupportedOperationException.class, () -> counts.put(99, 1L));
+        assertNull(counts.get(99));
+        assertFalse(counts.containsKey(99));
+    }
+
+    @Test
+    void nullKeyRejected() {
+        assertThrows(NullPointerException.class, () -> strings.stream()
+                .collect(PartitionedGrouping.counting(s -> null, 8)));
+    }
+
+    @Test
+    void nullLookupsOnPartitionedResult() {
+        // enough expected keys for several partitions, so lookups go through the hash
+        Map<Integer, Long> counts = IntStream.range(0, 10_000).boxed()
+                .collect(PartitionedGrouping.counting(i -> i % 5_000, 5_000));
+        assertNull(counts.get(null));
+        assertFalse(counts.containsKey(null));
+        assertEquals(2L, counts.get(4_999));
+    }
+
+    @Test
+    void valuesAreFinishedOnce() {
+        Map<Integer, Long> counts = IntStream.range(0, 100_000).boxed().parallel()
+                .collect(PartitionedGrouping.counting(i -> i % 10, 4_096));
+        // a re-run finisher would box a new Long on every read
+        assertSame(counts.get(3), counts.get(3));
+        assertSame(counts.get(3), counts.entrySet().stream()
+                .filter(e -> e.getKey() == 3).findFirst().orElseThrow().getValue());
+    }
+}
@@ -0,0 +1,66 @@
+package streams;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopNTest {
+    private final Comparator<String> longestFirst = Comparator.comparingInt(String::length).reversed();
+
+    @Test
+    void matchesSortedLimitOnDictionary() throws Exception {
+        List<String> words;
+        try (Stream<String> lines = Files.lines(Paths.get("src/main/resources/dict/words"))) {
+            words = lines.collect(Collectors.toList());
+        }
+        for (int n : new int[]{1, 10, 1_000}) {
+            List<String> expected = words.stream().sorted(longestFirst).limit(n).collect(Collectors.toList());
+            assertEquals(expected, words.stream().collect(TopN.topN(n, longestFirst)));
+            assertEquals(expected, words.parallelStream().collect(TopN.topN(n, longestFirst)));
+        }
+    }
+
+    @Test
+    void tiesKeepEncounterOrder() {
+        List<Integer> values = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+        Comparator<Integer> byLastDigit = Comparator.comparingInt(i -> i % 10);
+        List<Integer> expected = values.stream().sorted(byLastDigit).limit(500).collect(Collectors.toList());
+        assertEquals(expected, values.parallelStream().collect(TopN.topN(500, byLastDigit)));
+    }
+
+    @Test
+    void smallAndEmptyInputs() {
+        assertEquals(List.of(), Stream.of("a", "b").collect(TopN.topN(0, longestFirst)));
+        assertEquals(List.of("bb", "a"), Stream.of("a", "bb").collect(TopN.topN(5, longestFirst)));
+        assertEquals(List.of(), Stream.<String>empty().collect(TopN.topN(3, longestFirst)));
+        assertThrows(IllegalArgumentException.class, () -> TopN.topN(-1, longestFirst));
+    }
+
+    @Test
+    void combinerKeepsOrderWhicheverSideIsLarger() {
+        Comparator<Integer> byLastDigit = Comparator.comparingInt(i -> i % 10);
+        List<Integer> values = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+        for (int split : new int[]{3, 100, 197}) {
+            List<Integer> expected = values.stream().sorted(byLastDigit).limit(50).collect(Collectors.toList());
+            assertEquals(expected, combine(TopN.topN(50, byLastDigit), values.subList(0, split),
+                    values.subList(split, values.size())));
+        }
+    }
+
+    private static <T, A, R> R combine(Collector<T, A, R> collector, List<T> left, List<T> right) {
+        A leftContainer = collector.supplier().get();
+        left.forEach(t -> collector.accumulator().accept(leftContainer, t));
+        A rightContainer = collector.supplier().get();
+        right.forEach(t -> collector.accumulator().accept(rightContainer, t));
+        return collector.finisher().apply(collector.combiner().apply(leftContainer, rightContainer));
+    }
+}
@@ -0,0 +1,62 @@
+package tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskAnalyticsTest {
+    private final List<Task> tasks = new ArrayList<>();
+
+    TaskAnalyticsTest() {
+        SplittableRandom random = new SplittableRandom(9);
+        for (int i = 0; i < 20_000; i++) {
+            Integer id = random.nextInt(10) == 0 ? null : i;
+            tasks.add(new Task(id, random.nextBoolean(), 1 + random.nextInt(8), "Task " + random.nextInt(500)));
+        }
+    }
+
+    @Test
+    void matchesStreamPipelines() {
+        TaskAnalytics analytics = TaskAnalytics.of(tasks);
+
+        assertEquals(tasks.stream().filter(t -> t.isActive() && t.getId() != null)
+                .mapToLong(Task::getId).sum(), analytics.sumOfActiveIds());
+        assertEquals(tasks.stream().filter(Task::isActive).mapToInt(Task::getDuration).average().orElse(0.0),
+                analytics.averageActiveDuration(), 1e-9);
+        assertEquals(tasks.stream().sorted(comparing(Task::getDuration)).collect(toList()),
+                analytics.sortedByDuration());
+        assertEquals(tasks.stream().sorted(comparing(Task::getDuration).thenComparing(Task::getName))
+                .collect(toList()), analytics.sortedByDurationThenName());
+        assertEquals(tasks.stream().collect(groupingBy(Task::getDuration)), analytics.groupByDuration());
+        assertEquals(tasks.stream().collect(groupingBy(Task::getDuration, counting())),
+                analytics.countByDuration());
+        assertEquals(tasks.stream().collect(partitioningBy(Task::isActive)), analytics.partitionByActive());
+    }
+
+    @Test
+    void groupsComeOutShortestFirst() {
+        List<Integer> keys = new ArrayList<>(TaskAnalytics.of(tasks).groupByDuration().keySet());
+        List<Integer> sorted = new ArrayList<>(keys);
+        sorted.sort(Comparator.naturalOrder());
+        assertEquals(sorted, keys);
+    }
+
+    @Test
+    void emptyList() {
+        TaskAnalytics analytics = TaskAnalytics.of(List.of());
+        assertEquals(0, analytics.size());
+        assertEquals(0.0, analytics.averageActiveDuration());
+        assertTrue(analytics.groupByDuration().isEmpty());
+        assertTrue(analytics.sortedByDurationThenName().isEmpty());
+    }
+}
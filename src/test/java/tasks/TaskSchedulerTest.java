@@ -0,0 +1,196 @@
+package tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSchedulerTest {
+
+    private static List<Task> randomTasks(int n, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            tasks.add(new Task(i, random.nextInt(4) != 0, 1 + random.nextInt(20), "Task " + i));
+        }
+        return tasks;
+    }
+
+    @Test
+    void singleWorkerRunsShortestFirstAndSkipsInactive() {
+        List<Task> tasks = randomTasks(2_000, 1);
+        List<Task> ran = Collections.synchronizedList(new ArrayList<>());
+        try (TaskScheduler scheduler = new TaskScheduler(1, ran::add)) {
+            scheduler.submitAll(tasks);
+        }
+        // stable: equal durations keep submission order
+        assertEquals(tasks.stream().filter(Task::isActive).sorted(comparing(Task::getDuration)).collect(toList()),
+                ran);
+    }
+
+    @Test
+    void runsEveryTaskExactlyOnceAcrossWorkers() {
+        List<Task> tasks = randomTasks(100_000, 2);
+        var seen = ConcurrentHashMap.<Task>newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        TaskScheduler scheduler = new TaskScheduler(4, task -> {
+            if (!seen.add(task)) {
+                duplicates.incrementAndGet();
+            }
+        });
+        int queued = 0;
+        for (Task task : tasks) {
+            if (scheduler.submit(task)) {
+                queued++;
+            }
+        }
+        scheduler.close();
+
+        assertTrue(scheduler.isTerminated());
+        assertEquals(tasks.stream().filter(Task::isActive).count(), queued);
+        assertEquals(queued, seen.size());
+        assertEquals(0, duplicates.get());
+        assertEquals(queued, scheduler.completedCount());
+        assertEquals(0, scheduler.failedCount());
+        assertEquals(0, scheduler.queuedCount());
+        assertTrue(scheduler.throughput() > 0);
+        assertTrue(scheduler.maxQueueWaitNanos() >= scheduler.averageQueueWaitNanos());
+    }
+
+    @Test
+    void idleWorkersStealFromBusyOnes() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        TaskScheduler scheduler = new TaskScheduler(2, task -> {
+            if (task.getId() != 0) {
+                threads.add(Thread.currentThread().getName());
+            } else {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        scheduler.submit(new Task(0, true, 1, "blocker"));
+        blocked.await();
+        // everything submitted now gets spread over both queues, but one worker is stuck
+        for (int i = 1; i <= 10; i++) {
+            scheduler.submit(new Task(i, true, 1, "Task " + i));
+        }
+        while (threads.size() < 10) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, threads.stream().distinct().count());
+        release.countDown();
+        scheduler.close();
+        assertEquals(11, scheduler.completedCount());
+    }
+
+    @Test
+    void agingLetsLongTasksOvertakeNewerShortOnes() throws InterruptedException {
+        // a nanosecond per unit: the old long task beats short tasks submitted much later
+        assertEquals("long", runLongThenShort(Duration.ofNanos(1)).get(0).getName());
+        // an hour per unit: plain shortest-first
+        List<Task> ran = runLongThenShort(Duration.ofHours(1));
+        assertEquals("long", ran.get(ran.size() - 1).getName());
+    }
+
+    // blocks the only worker, queues a long task, then short ones 5 ms later
+    private static List<Task> runLongThenShort(Duration agingStep) throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Task> ran = Collections.synchronizedList(new ArrayList<>());
+        try (TaskScheduler scheduler = new TaskScheduler(1, task -> {
+            if (task.getId() == 0) {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                ran.add(task);
+            }
+        }, agingStep)) {
+            scheduler.submit(new Task(0, true, 1, "blocker"));
+            blocked.await();
+            scheduler.submit(new Task(1, true, 1_000, "long"));
+            Thread.sleep(5);
+            for (int i = 2; i <= 6; i++) {
+                scheduler.submit(new Task(i, true, 1, "short " + i));
+            }
+            release.countDown();
+        }
+        return ran;
+    }
+
+    @Test
+    void failuresAreCountedAndDoNotStopWorkers() {
+        TaskScheduler scheduler = new TaskScheduler(2, task -> {
+            if (task.getDuration() % 2 == 0) {
+                throw new IllegalStateException("boom");
+            }
+        });
+        for (int i = 0; i < 100; i++) {
+            scheduler.submit(new Task(i, true, i, "Task " + i));
+        }
+        scheduler.close();
+        assertEquals(100, scheduler.completedCount());
+        assertEquals(50, scheduler.failedCount());
+    }
+
+    @Test
+    void shutdownRejectsNewTasksAndShutdownNowDropsQueued() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        TaskScheduler scheduler = new TaskScheduler(1, task -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        scheduler.submit(new Task(0, true, 1, "running"));
+        started.await();
+        for (int i = 1; i <= 3; i++) {
+            scheduler.submit(new Task(i, true, 1, "queued"));
+        }
+        List<Task> dropped = scheduler.shutdownNow();
+        assertEquals(3, dropped.size());
+        assertThrows(IllegalStateException.class, () -> scheduler.submit(new Task(9, true, 1, "late")));
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(1, scheduler.completedCount());
+    }
+
+    @Test
+    void submitAllHandlesEmptyAndTinyBatches() throws InterruptedException {
+        List<List<Task>> batches = List.of(
+                List.of(),
+                List.of(new Task(0, true, 5, "only")),
+                List.of(new Task(1, false, 1, "off"), new Task(2, false, 2, "off too")));
+        int[] expected = {0, 1, 0};
+        for (int b = 0; b < batches.size(); b++) {
+            AtomicInteger ran = new AtomicInteger();
+            TaskScheduler scheduler = new TaskScheduler(3, task -> ran.incrementAndGet());
+            assertEquals(expected[b], scheduler.submitAll(batches.get(b)));
+            scheduler.shutdown();
+            assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS), "batch " + b);
+            assertEquals(expected[b], ran.get());
+            assertEquals(0, scheduler.queuedCount());
+        }
+    }
+}